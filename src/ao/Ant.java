@@ -1,6 +1,8 @@
 package ao;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 import graph.IWeightedGraph;
 
 
@@ -11,6 +13,16 @@ import graph.IWeightedGraph;
  * <p>
  * This class represents an ant that traverses a weighted graph to find a Hamiltonian cycle.
  * It keeps track of its current node, the unvisited nodes, and the path it has traversed so far.
+ * The visited nodes are kept in a bitset, with one bit per node, along with the number of unvisited nodes,
+ * and the path in a reusable array with room for a whole cycle, filled up to its length.
+ * The position of every node in the path is indexed, so backtracking to a node of the path
+ * takes a time proportional to the number of nodes removed from it.
+ * The weight of the path is accumulated as the ant moves, with the weight up to every position of the path,
+ * so that backtracking restores the weight of the remaining path and a cycle does not have to be weighed again.
+ * The weights are kept as {@code long}, like the weight of the graph, so that a long cycle of heavy edges does not
+ * overflow.
+ * When the {@code aco.checkPathWeight} system property is true, the accumulated weight of every cycle is checked
+ * against its full recomputation.
  * The ant uses an optimization algorithm to make movement decisions and interacts with the colony it belongs to.
  * </p>
  *
@@ -27,12 +39,21 @@ import graph.IWeightedGraph;
  */
 public class Ant implements IAnt, IAntFactory{
 
+	private static final boolean CHECK_PATH_WEIGHT = Boolean.getBoolean("aco.checkPathWeight");
+
 	private int currentNode;
-	private ArrayList<Integer> unvisitedNodes;
-	private ArrayList<Integer> path;
-	static private IWeightedGraph graphGetters;
+	private long[] visited;
+	private int numUnvisited;
+	private int[] path;
+	private int pathLength;
+	private long[] pathWeights;
+	private int[] positions;
+	private long numBacktracks;
+	private long numWastedMoves;
+	private IWeightedGraph graphGetters;
 	private IColony colony; 
 	private AntOptimizationAlgorithm algorithm;
+	private RandomGenerator random;
 
 	/**
 	 * Constructs an Ant object with the specified nest node, weighted graph, colony, and optimization algorithm.
@@ -43,17 +64,31 @@ public class Ant implements IAnt, IAntFactory{
 	 * @param algorithm  the optimization algorithm used by the ant
 	 */
 	public Ant(int nestNode, IWeightedGraph graph, IColony colony, AntOptimizationAlgorithm algorithm){
+		this(nestNode, graph, colony, algorithm, new SplittableRandom());
+	}
+
+	/**
+	 * Constructs an Ant object with its own random stream.
+	 *
+	 * @param nestNode   the node where the ant starts its path
+	 * @param graph      the weighted graph representing the problem
+	 * @param colony     the colony the ant belongs to
+	 * @param algorithm  the optimization algorithm used by the ant
+	 * @param random     the random stream of the ant
+	 */
+	public Ant(int nestNode, IWeightedGraph graph, IColony colony, AntOptimizationAlgorithm algorithm, RandomGenerator random){
+		this.random = random;
 		this.currentNode = nestNode;
 		this.algorithm = algorithm;
-		graphGetters = graph;
+		this.graphGetters = graph;
 		int numNodes = graphGetters.getNumNodes();
-		this.unvisitedNodes = new ArrayList<>(numNodes-1);
-		for (int i = 1; i < numNodes+1; i++) {
-			if (i != currentNode)
-				unvisitedNodes.add(i);
-		}	
-		path = new ArrayList<>(numNodes+1);
-		path.add(currentNode);
+		this.visited = new long[(numNodes >>> 6) + 1];
+		resetVisited(currentNode);
+		path = new int[numNodes+1];
+		pathWeights = new long[numNodes+1];
+		positions = new int[numNodes+1];
+		Arrays.fill(positions, -1);
+		addToPath(currentNode);
 		this.colony = colony;
 	}
 
@@ -64,10 +99,11 @@ public class Ant implements IAnt, IAntFactory{
 	 * @param graphGetters        the weighted graph
 	 * @param colony       the colony that all ants belongs to
 	 * @param algorithm    the optimization algorithm used by the ant
+	 * @param random       the random stream of the ant
 	 * @return a new instance of the Ant class
 	 */
-	public Ant createAntInstance(int nestNode, IWeightedGraph graphGetters, IColony colony, AntOptimizationAlgorithm algorithm) {
-		return new Ant(nestNode, graphGetters, colony, algorithm);
+	public Ant createAntInstance(int nestNode, IWeightedGraph graphGetters, IColony colony, AntOptimizationAlgorithm algorithm, RandomGenerator random) {
+		return new Ant(nestNode, graphGetters, colony, algorithm, random);
 	}
 
 	/**
@@ -90,21 +126,202 @@ public class Ant implements IAnt, IAntFactory{
 
 
 	/**
-	 * Retrieves the list of unvisited nodes.
+	 * Checks if the ant has visited a node.
+	 *
+	 * @param node the node to check
+	 * @return {@code true} if the node was visited, {@code false} otherwise
+	 */
+	public boolean isVisited(int node) {
+		return (visited[node >>> 6] & (1L << node)) != 0;
+	}
+
+	/**
+	 * Marks a node as visited.
+	 *
+	 * @param node the visited node
+	 */
+	public void markVisited(int node) {
+		if (!isVisited(node)) {
+			visited[node >>> 6] |= 1L << node;
+			numUnvisited--;
+		}
+	}
+
+	/**
+	 * Marks a node as unvisited.
+	 *
+	 * @param node the node to mark as unvisited
+	 */
+	public void markUnvisited(int node) {
+		if (isVisited(node)) {
+			visited[node >>> 6] &= ~(1L << node);
+			numUnvisited++;
+		}
+	}
+
+	/**
+	 * Marks every node as unvisited, except the given one.
+	 *
+	 * @param node the only visited node
+	 */
+	public void resetVisited(int node) {
+		Arrays.fill(visited, 0);
+		numUnvisited = graphGetters.getNumNodes();
+		markVisited(node);
+	}
+
+	/**
+	 * Retrieves the number of unvisited nodes.
+	 *
+	 * @return the number of unvisited nodes
+	 */
+	public int getNumUnvisited() {
+		return numUnvisited;
+	}
+
+	/**
+	 * Retrieves the number of nodes in the path traversed by the ant since the nest node.
+	 *
+	 * @return the length of the path
+	 */
+	public int getPathLength() {
+		return pathLength;
+	}
+
+	/**
+	 * Retrieves a node of the path traversed by the ant.
+	 *
+	 * @param position the position in the path, between 0 and {@code getPathLength()-1}
+	 * @return the node at the given position
+	 */
+	public int getPathNode(int position) {
+		return path[position];
+	}
+
+	/**
+	 * Adds a node at the end of the path, looking up the weight of the edge from the last node of the path.
+	 *
+	 * @param node the node to add
+	 */
+	public void addToPath(int node) {
+		addToPath(node, (pathLength == 0) ? 0 : graphGetters.getWeight(path[pathLength-1], node));
+	}
+
+	/**
+	 * Adds a node at the end of the path, reached through an edge of known weight.
+	 *
+	 * @param node   the node to add
+	 * @param weight the weight of the edge from the last node of the path, ignored if the path is empty
+	 */
+	public void addToPath(int node, int weight) {
+		positions[node] = pathLength;
+		pathWeights[pathLength] = (pathLength == 0) ? 0 : pathWeights[pathLength-1] + weight;
+		path[pathLength++] = node;
+	}
+
+	/**
+	 * Retrieves the weight of the path traversed by the ant.
+	 *
+	 * @return the sum of the weights of the edges of the path
+	 */
+	public long getPathWeight() {
+		return getPathWeight(pathLength);
+	}
+
+	/**
+	 * Retrieves the weight of the first nodes of the path traversed by the ant.
+	 *
+	 * @param length the number of nodes, between 0 and {@code getPathLength()}
+	 * @return the sum of the weights of the edges between these nodes
+	 */
+	public long getPathWeight(int length) {
+		return (length == 0) ? 0 : pathWeights[length-1];
+	}
+
+	/**
+	 * Shortens the path, keeping only its first nodes.
+	 *
+	 * @param length the new length of the path
+	 */
+	public void truncatePath(int length) {
+		for (int i = pathLength - 1; i >= length; i--) {
+			if (positions[path[i]] == i)
+				positions[path[i]] = -1;
+		}
+		pathLength = length;
+	}
+
+	/**
+	 * Retrieves the last position of a node in the path traversed by the ant.
+	 *
+	 * @param node the node
+	 * @return the position of the node in the path, or -1 if the node is not in the path
+	 */
+	public int getPathPosition(int node) {
+		return positions[node];
+	}
+
+	/**
+	 * Backtracks to a node of the path, removing the nodes after it from the path and marking them as unvisited.
+	 * If the node is not in the path, the whole path is removed.
+	 *
+	 * @param node the node to backtrack to
+	 * @return the number of nodes removed from the path
+	 */
+	public int backtrackTo(int node) {
+		int length = positions[node] + 1;
+		int removed = pathLength - length;
+		for (int i = length; i < pathLength; i++) {
+			markUnvisited(path[i]);
+		}
+		truncatePath(length);
+		numBacktracks++;
+		return removed;
+	}
+
+	/**
+	 * Retrieves the number of moves of the ant that backtracked to a node of its path.
 	 *
-	 * @return the list of unvisited nodes
+	 * @return the number of backtracking moves
 	 */
-	public ArrayList<Integer> getUnvisitedNodes(){
-		return unvisitedNodes;
+	public long getNumBacktracks() {
+		return numBacktracks;
 	}
 
 	/**
-	 * Retrieves the path traversed by the ant since the nest node.
+	 * Adds moves of the ant that were undone by backtracking, such as the nodes removed by {@link #backtrackTo(int)}.
 	 *
-	 * @return the path traversed
+	 * @param moves the number of wasted moves
 	 */
-	public ArrayList<Integer> getPath(){
-		return path;
+	public void addWastedMoves(int moves) {
+		numWastedMoves += moves;
+	}
+
+	/**
+	 * Retrieves the number of moves of the ant that were undone by backtracking.
+	 *
+	 * @return the number of wasted moves
+	 */
+	public long getNumWastedMoves() {
+		return numWastedMoves;
+	}
+
+	/**
+	 * Copies the path traversed by the ant into a new array of its exact length.
+	 *
+	 * @return a copy of the path
+	 */
+	public int[] copyPath() {
+		return Arrays.copyOf(path, pathLength);
+	}
+
+	/**
+	 * Retrieves the random stream of the ant.
+	 *
+	 * @return the random generator of the ant
+	 */
+	public RandomGenerator getRandom() {
+		return random;
 	}
 
 	/**
@@ -135,16 +352,20 @@ public class Ant implements IAnt, IAntFactory{
 	 * @param colony the colony that the ant belongs to
 	 * @param gamma  the parameter for updating the pheromone levels
 	 * @return the weight of the Hamiltonian cycle
+	 * @throws IllegalStateException if the weight is checked and differs from the weight accumulated by the ant
 	 */
-	public int updatePheromones (IColony colony, double gamma) { 	
-		int pathWeight=0;
-		for (int i = 1; i < path.size(); i++) {
-			pathWeight += graphGetters.getWeight(path.get(i), path.get(i-1));
-		}
-		int W = graphGetters.getGraphWeight();
-		for(int i = 1; i < path.size(); i++) {			
-			colony.updateLevel(path.get(i), path.get(i-1), gamma*W/pathWeight);
+	public long updatePheromones (IColony colony, double gamma) { 	
+		long pathWeight = getPathWeight();
+		if (CHECK_PATH_WEIGHT) {
+			long weight = 0;
+			for (int i = 1; i < pathLength; i++) {
+				weight += graphGetters.getWeight(path[i], path[i-1]);
+			}
+			if (weight != pathWeight)
+				throw new IllegalStateException("Accumulated path weight " + pathWeight + " differs from the cycle weight " + weight);
 		}
+		long W = graphGetters.getGraphWeight();
+		colony.depositPheromones(path, pathLength, gamma*W/pathWeight);
 		return pathWeight;
 	}
 
@@ -1,19 +1,40 @@
 package ao;
 
-import java.util.ArrayList;
-import java.util.Random;
+import graph.CandidateLists;
 import graph.IWeightedGraph;
 
 /**
  * The AntColonyOptimization class implements the AntOptimizationAlgorithm interface
  * and represents the Ant Colony Optimization algorithm.
  * 
+ * When candidate lists are given, an ant only considers the unvisited candidates of its current node,
+ * and falls back to the full neighbourhood when all the candidates have been visited.
+ * 
+ * When the colony caches the choice information of the edges for the same parameters, the attractiveness of
+ * every unvisited adjacent node is read from it instead of being computed from the pheromone level and the weight.
+ * 
+ * A {@link SelectionStrategy} can take over the draw among the whole neighbourhood when the choice information
+ * is cached, for instance to draw from nodes of high degree with Fenwick trees.
+ * 
+ * Otherwise, the next node is drawn with a roulette wheel over the cumulative attractiveness of the nodes, scaling the random
+ * draw by their sum instead of normalising them. The cumulative values and the positions of the unvisited adjacent
+ * nodes are kept in scratch arrays reused by every move, so choosing a node does not allocate. Since the scratch
+ * arrays belong to the instance, an instance must not be shared by simulations running concurrently.
+ * Every draw uses the random stream of the ant.
+ * 
  * @author Diogo Miranda
  * @author João Santos
  * @author Tomás Maia
  * @version 1.0
  */
 public class AntColonyOptimization implements AntOptimizationAlgorithm {
+
+	private CandidateLists candidates;
+	private SelectionStrategy selection;
+
+	// Scratch arrays of the roulette wheel, grown to the largest degree seen
+	private int[] adjacentIndices = new int[0];
+	private double[] cumulativeProbs = new double[0];
 	
     /**
      * Default constructor for the AntColonyOptimization class.
@@ -22,6 +43,27 @@ public class AntColonyOptimization implements AntOptimizationAlgorithm {
         // No initialization logic required for the default constructor
     }
 
+    /**
+     * Constructs an AntColonyOptimization that restricts the ant decisions to the given candidate lists.
+     *
+     * @param candidates the candidate lists of the graph, or {@code null} to use the full neighbourhood
+     */
+    public AntColonyOptimization(CandidateLists candidates) {
+        this.candidates = candidates;
+    }
+
+    /**
+     * Constructs an AntColonyOptimization with candidate lists and a strategy to draw among the whole neighbourhood.
+     *
+     * @param candidates the candidate lists of the graph, or {@code null} to use the full neighbourhood
+     * @param selection  the selection strategy used when the colony caches the choice information,
+     *                   or {@code null} to always use the built-in roulette wheel
+     */
+    public AntColonyOptimization(CandidateLists candidates, SelectionStrategy selection) {
+        this.candidates = candidates;
+        this.selection = selection;
+    }
+
 
 	/**
      * Selects the next edge to be traversed by the ant
@@ -36,34 +78,60 @@ public class AntColonyOptimization implements AntOptimizationAlgorithm {
      */
 	public double optimize(IAnt ant, IWeightedGraph graphGetters, double gamma, double alfa, double beta, double delta) {
 
-		ArrayList<Integer> list = graphGetters.getAdjacentNodes(ant.getCurrentNode());
-
-		ArrayList<Integer> unvisitedAdjacent = new ArrayList<>();
+		int currentNode = ant.getCurrentNode();
+		int degree = graphGetters.getDegree(currentNode);
 
+		// Positions of the unvisited adjacent nodes in the neighbourhood of the current node
+		ensureCapacity(degree);
+		int[] unvisitedAdjacent = adjacentIndices;
+		int numUnvisitedAdjacent = 0;
 
 		int node;
-		int pathWeight = 0;
+		long pathWeight = 0;
 		double tempo = 0;
+		ChoiceInfo choiceInfo = ant.getColony().getChoiceInfo();
+		if (choiceInfo != null && !choiceInfo.isFor(alfa, beta))
+			choiceInfo = null;
 		
+		// Find unvisited candidate nodes
+		if (candidates != null) {
+			for (int i = 0; i < candidates.getNumCandidates(currentNode); i++) {
+				if (!ant.isVisited(candidates.getCandidate(currentNode, i)))
+					unvisitedAdjacent[numUnvisitedAdjacent++] = candidates.getCandidateIndex(currentNode, i);
+			}
+		}
+		// Draw among the unvisited adjacent nodes with the selection strategy
+		if (numUnvisitedAdjacent == 0 && selection != null && choiceInfo != null) {
+			int selected = selection.select(ant, currentNode, choiceInfo, ant.getRandom());
+			if (selected >= 0) {
+				ant.setCurrentNode(graphGetters.getAdjacentNode(currentNode, selected));
+				ant.addToPath(ant.getCurrentNode(), graphGetters.getAdjacentWeight(currentNode, selected));
+				ant.markVisited(ant.getCurrentNode());
+				// Time to traverse the edge
+				return moveTime(ant, graphGetters, delta);
+			}
+		}
 		// Find unvisited adjacent nodes
-		for (int i = 0; i < list.size();  i++) {
-			node = list.get(i);
-			if (ant.getUnvisitedNodes().contains(node))
-				unvisitedAdjacent.add(node);
+		else if (numUnvisitedAdjacent == 0) {
+			for (int i = 0; i < degree;  i++) {
+				node = graphGetters.getAdjacentNode(currentNode, i);
+				if (!ant.isVisited(node))
+					unvisitedAdjacent[numUnvisitedAdjacent++] = i;
+			}
 		}
 		// No unvisited adjacent nodes
-		if (unvisitedAdjacent.isEmpty()) {
+		if (numUnvisitedAdjacent == 0) {
 			// No unvisited nodes
-			if(ant.getUnvisitedNodes().isEmpty()) {
+			if(ant.getNumUnvisited() == 0) {
 				// Edge to the nest node
-				if(list.contains(ant.getColony().getNestNode())) {
+				int nestWeight = graphGetters.getWeight(currentNode, ant.getColony().getNestNode());
+				if(nestWeight != 0) {
 					// Hamiltonian cycle found
-					ant.getPath().add(ant.getColony().getNestNode());
-					ArrayList <Integer> pathClone = (ArrayList<Integer>) ant.getPath().clone();
+					int[] cycle = ant.copyPath();
+					ant.addToPath(ant.getColony().getNestNode(), nestWeight);
 					ant.setCurrentNode(ant.getColony().getNestNode());
 					pathWeight = ant.updatePheromones(ant.getColony(), gamma);
-					pathClone.remove(pathClone.size()-1);
-					ant.getColony().addHamiltonianCycle(pathClone, pathWeight);
+					ant.getColony().addHamiltonianCycle(cycle, pathWeight);
 
 					tempo = moveTime(ant, graphGetters, delta);
 					restartVar(ant, graphGetters);
@@ -71,62 +139,46 @@ public class AntColonyOptimization implements AntOptimizationAlgorithm {
 				}
 				// No edge to the nest node. The ant has to revisit a node
 				else {
-					tempo = backtrack(ant, graphGetters, list, alfa, beta, delta);
+					tempo = backtrack(ant, graphGetters, alfa, beta, delta);
 					return tempo;
 				}
 			}
 			// There are still nodes to be visited. The ant has to revisit a node
 			else {
-				tempo = backtrack(ant, graphGetters, list, alfa, beta, delta);
+				tempo = backtrack(ant, graphGetters, alfa, beta, delta);
 				return tempo;
 			}
 		}
 		// Available unvisited adjacent nodes
 		else {
 			// There is only one unvisited adjacent node
-			if(unvisitedAdjacent.size() == 1) { 
-				ant.setCurrentNode(unvisitedAdjacent.get(0));
-				ant.getPath().add(ant.getCurrentNode());
-				ant.getUnvisitedNodes().remove(Integer.valueOf(ant.getCurrentNode()));
+			if(numUnvisitedAdjacent == 1) { 
+				ant.setCurrentNode(graphGetters.getAdjacentNode(currentNode, unvisitedAdjacent[0]));
+				ant.addToPath(ant.getCurrentNode(), graphGetters.getAdjacentWeight(currentNode, unvisitedAdjacent[0]));
+				ant.markVisited(ant.getCurrentNode());
 				// Time to traverse the edge
 				return moveTime(ant, graphGetters, delta);
 			}
 			// There is more than one unvisited adjacent node
 			else {
-				// Calculate probabilities for selecting unvisited adjacent nodes
-				ArrayList<Double> probs = new ArrayList<>(unvisitedAdjacent.size());
-				double prob;
+				// Calculate cumulative probabilities for selecting unvisited adjacent nodes
+				double[] probs = cumulativeProbs;
 				double sumProbs = 0;
 				
-				for (int i = 0; i < unvisitedAdjacent.size(); i++ ) {
-					node = unvisitedAdjacent.get(i);
-					prob = ((alfa+ant.getColony().getLevel(ant.getCurrentNode(), node))/(beta + graphGetters.getWeight(ant.getCurrentNode(), node)));
-					sumProbs += prob;
-					probs.add(prob);
-				}
-				
-				// Normalize probabilities
-				for (int i = 0; i < probs.size(); i++) {
-					probs.set(i, probs.get(i)/sumProbs);
+				for (int i = 0; i < numUnvisitedAdjacent; i++ ) {
+					int index = unvisitedAdjacent[i];
+					if (choiceInfo != null)
+						sumProbs += choiceInfo.get(currentNode, index);
+					else
+						sumProbs += ((alfa+ant.getColony().getAdjacentLevel(currentNode, index))/(beta + graphGetters.getAdjacentWeight(currentNode, index)));
+					probs[i] = sumProbs;
 				}
-				
-				// Calculate cumulative probabilities
-				for (int i = 1; i < probs.size(); i++) {
-					probs.set(i, probs.get(i)+probs.get(i-1));
-				}
-
-				Random random = new Random();
-				double randomNumber = random.nextDouble();
 
 				// Select the node based on the probabilities and update the ant content
-				for (int i = 0; i < probs.size(); i++) {
-					if (randomNumber <= probs.get(i)) {
-						ant.setCurrentNode(unvisitedAdjacent.get(i));
-						ant.getPath().add(ant.getCurrentNode());
-						ant.getUnvisitedNodes().remove(Integer.valueOf(ant.getCurrentNode()));
-						break;
-					}		
-				}
+				int selected = select(probs, numUnvisitedAdjacent, sumProbs, ant);
+				ant.setCurrentNode(graphGetters.getAdjacentNode(currentNode, unvisitedAdjacent[selected]));
+				ant.addToPath(ant.getCurrentNode(), graphGetters.getAdjacentWeight(currentNode, unvisitedAdjacent[selected]));
+				ant.markVisited(ant.getCurrentNode());
 				// Time to traverse the edge
 				return moveTime(ant, graphGetters, delta);
 			}	
@@ -140,34 +192,9 @@ public class AntColonyOptimization implements AntOptimizationAlgorithm {
      * @param graph the weighted graph
      */
 	private void restartVar(IAnt ant, IWeightedGraph graphGetters) {
-		int numNodes = graphGetters.getNumNodes();
-		ant.getUnvisitedNodes().clear();
-		for (int i = 1; i < numNodes+1; i++) {
-			if (i != ant.getCurrentNode())
-				ant.getUnvisitedNodes().add(i);
-		}	
-		ant.getPath().clear();
-		ant.getPath().add(ant.getCurrentNode());
-	}
-
-	/**
-     * Closes the cycle and updates the path and unvisitedNodes.
-     *
-     * @param ant  ant to move
-     * @param node the node to backtrack to
-     */
-	private void updateBacktrack(IAnt ant, int node) {
-		int lastNode=0;
-		int sizeFor = ant.getPath().size();
-
-		for(int i = sizeFor; i > 0; i--) {
-			lastNode = ant.getPath().get(i-1);
-			if( lastNode != node) {
-				ant.getUnvisitedNodes().add(lastNode);
-				ant.getPath().remove(ant.getPath().size()-1);
-			}
-			else break;
-		}
+		ant.resetVisited(ant.getCurrentNode());
+		ant.truncatePath(0);
+		ant.addToPath(ant.getCurrentNode(), 0);
 	}
 
     /**
@@ -175,61 +202,73 @@ public class AntColonyOptimization implements AntOptimizationAlgorithm {
      *
      * @param ant    the ant to move
      * @param graph  the weighted graph
-     * @param list   the list of adjacent nodes
      * @param alfa  the parameter concerning the ant move event
      * @param beta  the parameter concerning the ant move event
      * @param delta the parameter concerning the ant move event
      * @return the time taken by the ant to complete its path
      */
-	private double backtrack(IAnt ant, IWeightedGraph graphGetters, ArrayList<Integer> list, double alfa, double beta, double delta) {
+	private double backtrack(IAnt ant, IWeightedGraph graphGetters, double alfa, double beta, double delta) {
 
-		int node;
+		int currentNode = ant.getCurrentNode();
+		int degree = graphGetters.getDegree(currentNode);
 		double time = 0;
 		// There is only a single adjacent node
-		if(list.size() == 1) { 
-			ant.setCurrentNode(list.get(0));
+		if(degree == 1) { 
+			ant.setCurrentNode(graphGetters.getAdjacentNode(currentNode, 0));
 			time = moveTime(ant, graphGetters, delta);
-			updateBacktrack(ant, ant.getCurrentNode());
+			ant.addWastedMoves(ant.backtrackTo(ant.getCurrentNode()));
 		}
 		// There is more than one adjacent node
 		else {
-			ArrayList<Double> probs = new ArrayList<>(list.size());
-			double prob;
+			ensureCapacity(degree);
+			double[] probs = cumulativeProbs;
 			double sumProbs = 0;
 
-			for (int i = 0; i < list.size(); i++) {
-				node = list.get(i);
-				prob = (alfa+ant.getColony().getLevel(ant.getCurrentNode(), node)/(beta+graphGetters.getWeight(ant.getCurrentNode(), node)));
-				sumProbs += prob;
-				probs.add(prob);
-			}
-			
-			// Normalize probabilities
-			for (int i = 0; i < probs.size(); i++) {
-				probs.set(i, probs.get(i)/sumProbs);
-			}
-
             // Calculate cumulative probabilities
-			for (int i = 1; i < probs.size(); i++) {
-				probs.set(i, probs.get(i)+probs.get(i-1));
+			for (int i = 0; i < degree; i++) {
+				sumProbs += (alfa+ant.getColony().getAdjacentLevel(currentNode, i)/(beta+graphGetters.getAdjacentWeight(currentNode, i)));
+				probs[i] = sumProbs;
 			}
 
-			Random random = new Random();
-			double randomNumber = random.nextDouble();
-
 			// Select the node based on the probabilities
-			for (int i = 0; i < probs.size(); i++) {
-				if (randomNumber < probs.get(i)) {
-					ant.setCurrentNode(list.get(i));
-					time = moveTime(ant, graphGetters, delta);
-					updateBacktrack(ant, ant.getCurrentNode());
-					break;
-				}		
-			}
+			int selected = select(probs, degree, sumProbs, ant);
+			ant.setCurrentNode(graphGetters.getAdjacentNode(currentNode, selected));
+			time = moveTime(ant, graphGetters, delta);
+			ant.addWastedMoves(ant.backtrackTo(ant.getCurrentNode()));
 		}
 		return time;
 	}
 
+    /**
+     * Spins the roulette wheel over cumulative probabilities that are not normalised.
+     *
+     * @param cumulative the cumulative probabilities, the last one being their sum
+     * @param count      the number of probabilities
+     * @param sum        the sum of the probabilities
+     * @param ant        the ant whose random stream draws the node
+     * @return the position of the selected probability
+     */
+	private int select(double[] cumulative, int count, double sum, IAnt ant) {
+		double randomNumber = ant.getRandom().nextDouble() * sum;
+		for (int i = 0; i < count - 1; i++) {
+			if (randomNumber < cumulative[i])
+				return i;
+		}
+		return count - 1;
+	}
+
+    /**
+     * Grows the scratch arrays so that they hold at least the given number of adjacent nodes.
+     *
+     * @param degree the number of adjacent nodes
+     */
+	private void ensureCapacity(int degree) {
+		if (adjacentIndices.length < degree) {
+			adjacentIndices = new int[degree];
+			cumulativeProbs = new double[degree];
+		}
+	}
+
     /**
      * Calculates the time taken by an ant to move from one node to another
      *
@@ -240,9 +279,9 @@ public class AntColonyOptimization implements AntOptimizationAlgorithm {
      */
 	private double moveTime(IAnt ant, IWeightedGraph graph, double delta) {
 
-		int node1 = ant.getPath().get(ant.getPath().size() - 2);
-		int node2 = ant.getPath().get(ant.getPath().size() - 1);
-		return delta*graph.getWeight(node1, node2);
+		// Weight of the last edge of the path, accumulated by the ant
+		int length = ant.getPathLength();
+		return delta*(ant.getPathWeight(length) - ant.getPathWeight(length - 1));
 	}
 
 }
@@ -0,0 +1,125 @@
+package ao;
+
+import java.util.ArrayList;
+import java.util.List;
+import graph.IWeightedGraph;
+
+/**
+ * The ChoiceInfo class caches, for every edge of the graph, the attractiveness of the edge to an ant,
+ * {@code (alfa + level) / (beta + weight)}, so that choosing the next node takes a single array read per candidate.
+ * <p>
+ * The values are kept in a flat array laid out like the adjacency of the graph
+ * (see {@link IWeightedGraph#getAdjacencyOffset(int)}), one slot per edge and direction.
+ * They have to be updated every time the pheromone level of an edge changes, which the colony does in
+ * {@link Colony#updateLevel(int, int, double)}. Observers, such as the samplers of a {@link SelectionStrategy},
+ * are notified of every updated edge, with its positions in the neighbourhoods of its nodes.
+ * </p>
+ *
+ * @see Colony
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class ChoiceInfo {
+
+	private IWeightedGraph graph;
+	private double alfa;
+	private double beta;
+	private double[] values;
+	private List<ChoiceInfoObserver> observers = new ArrayList<>();
+
+	/**
+	 * Constructs the choice information of every edge from the current pheromone levels.
+	 *
+	 * @param graph      the weighted graph
+	 * @param pheromones the pheromone levels
+	 * @param alfa       the parameter concerning the ant move event added to the pheromone level
+	 * @param beta       the parameter concerning the ant move event added to the edge weight
+	 * @throws IllegalStateException if the graph has too many edges to be indexed
+	 */
+	public ChoiceInfo(IWeightedGraph graph, PheromoneStore pheromones, double alfa, double beta) {
+		this.graph = graph;
+		this.alfa = alfa;
+		this.beta = beta;
+		this.values = new double[graph.getAdjacencySize()];
+
+		for (int node = 1; node < graph.getNumNodes() + 1; node++) {
+			int offset = graph.getAdjacencyOffset(node);
+			for (int i = 0; i < graph.getDegree(node); i++) {
+				values[offset + i] = (alfa + pheromones.getAdjacentLevel(node, i)) / (beta + graph.getAdjacentWeight(node, i));
+			}
+		}
+	}
+
+	/**
+	 * Checks if the cached values were computed with the specified parameters.
+	 *
+	 * @param alfa the parameter concerning the ant move event added to the pheromone level
+	 * @param beta the parameter concerning the ant move event added to the edge weight
+	 * @return {@code true} if the values can be used with these parameters, {@code false} otherwise
+	 */
+	public boolean isFor(double alfa, double beta) {
+		return this.alfa == alfa && this.beta == beta;
+	}
+
+	/**
+	 * Adds an observer notified after the choice information of an edge is updated.
+	 *
+	 * @param observer the observer to be added
+	 */
+	public void addObserver(ChoiceInfoObserver observer) {
+		observers.add(observer);
+	}
+
+	/**
+	 * Gets the choice information of the edge between a node and one of its adjacent nodes.
+	 *
+	 * @param node  the node
+	 * @param index the position of the adjacent node
+	 * @return the attractiveness of the edge
+	 */
+	public double get(int node, int index) {
+		return values[graph.getAdjacencyOffset(node) + index];
+	}
+
+	/**
+	 * Updates the choice information of an edge, in both directions, after its pheromone level changed.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @param level     the new pheromone level of the edge
+	 */
+	public void update(int startNode, int endNode, double level) {
+		int forward = graph.getAdjacentIndex(startNode, endNode);
+		int backward = graph.getAdjacentIndex(endNode, startNode);
+		double value = (alfa + level) / (beta + graph.getAdjacentWeight(startNode, forward));
+		values[graph.getAdjacencyOffset(startNode) + forward] = value;
+		values[graph.getAdjacencyOffset(endNode) + backward] = value;
+		for (ChoiceInfoObserver observer : observers)
+			observer.update(startNode, forward, endNode, backward);
+	}
+
+	/**
+	 * Updates the choice information of an edge given by its adjacency slots, in both directions, after its
+	 * pheromone level changed. It lets a pheromone store refresh the edges it evaporates without searching the
+	 * neighbourhoods, which are only looked up when observers have to be notified.
+	 *
+	 * @param startNode   the start node
+	 * @param slot        the adjacency slot of the edge from the start node
+	 * @param reverseSlot the adjacency slot of the edge from the end node
+	 * @param level       the new pheromone level of the edge
+	 */
+	public void update(int startNode, int slot, int reverseSlot, double level) {
+		int forward = slot - graph.getAdjacencyOffset(startNode);
+		double value = (alfa + level) / (beta + graph.getAdjacentWeight(startNode, forward));
+		values[slot] = value;
+		values[reverseSlot] = value;
+		if (observers.isEmpty())
+			return;
+		int endNode = graph.getAdjacentNode(startNode, forward);
+		int backward = reverseSlot - graph.getAdjacencyOffset(endNode);
+		for (ChoiceInfoObserver observer : observers)
+			observer.update(startNode, forward, endNode, backward);
+	}
+}
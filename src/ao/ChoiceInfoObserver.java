@@ -0,0 +1,28 @@
+package ao;
+
+/**
+ * The ChoiceInfoObserver interface represents an observer of the choice information of the edges, notified every
+ * time the choice information of an edge is updated.
+ * <p>
+ * The edge is given by its two nodes and by the position of each node in the neighbourhood of the other, which
+ * the choice information already looked up, so that observers do not search the neighbourhoods again.
+ * </p>
+ *
+ * @see ChoiceInfo
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public interface ChoiceInfoObserver {
+
+	/**
+	 * Receives the update of the choice information of an edge, in both directions.
+	 *
+	 * @param startNode  the start node of the edge
+	 * @param startIndex the position of the end node in the neighbourhood of the start node
+	 * @param endNode    the end node of the edge
+	 * @param endIndex   the position of the start node in the neighbourhood of the end node
+	 */
+	void update(int startNode, int startIndex, int endNode, int endIndex);
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.PriorityQueue;
 import java.util.List;
 import java.util.Collections;
+import java.util.SplittableRandom;
 import dss.Observer;
 import graph.IWeightedGraph;
 
@@ -14,6 +15,7 @@ import graph.IWeightedGraph;
  * <p>
  * This class stores all the ants and the common variables belonging to them, such as the pheromone levels,
  *  the nest node and the Hamiltonian cycles within a graph.
+ * The pheromone levels are kept in a {@link PheromoneStore}, a matrix one by default.
  * It provides methods for adding and removing observers, notifying observers of state changes and
  * retrieving and updating information on the colony's content.
  * </p>
@@ -28,11 +30,17 @@ public class Colony implements IColony{
 
 	private int numAnts;
 	private int nestNode;
-	private double[][] pheromones;
+	private IWeightedGraph graph;
+	private PheromoneStore pheromones;
+	private ChoiceInfo choiceInfo;
 	private ArrayList<IAnt> ants;
 	private PriorityQueue<CycleAndWeight> hamiltonianCycles;
 	private List<Observer> observers;
 
+	// Scratch arrays of the edges activated by a deposit
+	private int[] activatedStart = new int[0];
+	private int[] activatedEnd = new int[0];
+
 	/**
 	 * Constructs a Colony object with the specified number of ants, nest node, and other parameters.
 	 *
@@ -44,20 +52,47 @@ public class Colony implements IColony{
 	 * @param algorithm  the ant optimization algorithm
 	 */
 	public Colony(int numAnts, int nestNode, int numNodes, IAntFactory ant, IWeightedGraph graph, AntOptimizationAlgorithm algorithm) {
+		this(numAnts, nestNode, numNodes, ant, graph, algorithm, new MatrixPheromoneStore(graph));
+	}
+
+	/**
+	 * Constructs a Colony object that keeps its pheromone levels in the specified store.
+	 *
+	 * @param numAnts    the number of ants in the colony
+	 * @param nestNode   the nest node where the ants are initialized
+	 * @param numNodes   the number of nodes in the graph
+	 * @param ant        the factory for creating ant instances
+	 * @param graph      the weighted graph
+	 * @param algorithm  the ant optimization algorithm
+	 * @param pheromones the store of the pheromone levels, with every level at 0
+	 */
+	public Colony(int numAnts, int nestNode, int numNodes, IAntFactory ant, IWeightedGraph graph, AntOptimizationAlgorithm algorithm, PheromoneStore pheromones) {
+		this(numAnts, nestNode, numNodes, ant, graph, algorithm, pheromones, new SplittableRandom());
+	}
+
+	/**
+	 * Constructs a Colony object whose ants draw from random streams split from the specified generator.
+	 *
+	 * @param numAnts    the number of ants in the colony
+	 * @param nestNode   the nest node where the ants are initialized
+	 * @param numNodes   the number of nodes in the graph
+	 * @param ant        the factory for creating ant instances
+	 * @param graph      the weighted graph
+	 * @param algorithm  the ant optimization algorithm
+	 * @param pheromones the store of the pheromone levels, with every level at 0
+	 * @param random     the generator the random stream of every ant is split from
+	 */
+	public Colony(int numAnts, int nestNode, int numNodes, IAntFactory ant, IWeightedGraph graph, AntOptimizationAlgorithm algorithm, PheromoneStore pheromones, SplittableRandom random) {
 		this.numAnts = numAnts;
 		this.nestNode = nestNode;
-		this.pheromones = new double[numNodes][numNodes];
+		this.graph = graph;
+		this.pheromones = pheromones;
 
 		this.observers = new ArrayList<>();
 
-		for (int i = 0; i < numNodes; i++) {
-			for (int j = 0; j < numNodes; j++) {
-				this.pheromones[i][j] = 0;
-			}
-		}
 		ants = new ArrayList<>(numAnts);
 		for(int i = 0; i < numAnts; i++) {
-			ants.add(ant.createAntInstance(nestNode, graph, this, algorithm)); 
+			ants.add(ant.createAntInstance(nestNode, graph, this, algorithm, random.split())); 
 		}
 
 		hamiltonianCycles = new PriorityQueue<CycleAndWeight>();      
@@ -95,6 +130,21 @@ public class Colony implements IColony{
 			observer.update(startNode, endNode);
 	}
 
+    /**
+     * Notifies all observers in the colony of a batch of events with the specified start and end nodes.
+     *
+     * @param startNodes the start nodes of the events
+     * @param endNodes   the end nodes of the events
+     * @param count      the number of events
+     */
+    @Override
+	public void notifyObservers(int[] startNodes, int[] endNodes, int count) {
+		if (count == 0)
+			return;
+		for (Observer observer : this.observers)
+			observer.update(startNodes, endNodes, count);
+	}
+
 	/**
 	 * Gets the number of ants in the colony.
 	 *
@@ -112,6 +162,30 @@ public class Colony implements IColony{
 	public int getNestNode() {
 		return nestNode;
 	}
+
+	/**
+	 * Gets the number of moves of all the ants of the colony that backtracked to a node of their path.
+	 *
+	 * @return the number of backtracking moves
+	 */
+	public long getNumBacktracks() {
+		long numBacktracks = 0;
+		for (IAnt ant : ants)
+			numBacktracks += ant.getNumBacktracks();
+		return numBacktracks;
+	}
+
+	/**
+	 * Gets the number of moves of all the ants of the colony that were undone by backtracking.
+	 *
+	 * @return the number of wasted moves
+	 */
+	public long getNumWastedMoves() {
+		long numWastedMoves = 0;
+		for (IAnt ant : ants)
+			numWastedMoves += ant.getNumWastedMoves();
+		return numWastedMoves;
+	}
 	
 	/**
 	 * Gets the pheromone level of an edge
@@ -121,16 +195,55 @@ public class Colony implements IColony{
 	 * @return the pheromone level of the edge
 	 */
 	public double getLevel(int startNode, int endNode) {
-		return pheromones[startNode-1][endNode-1];
+		return pheromones.getLevel(startNode, endNode);
 	}
 
 	/**
-	 * Gets the pheromones table containing all the edges pheromone level
+	 * Gets the pheromone level of the edge between a node and one of its adjacent nodes
+	 *
+	 * @param node   the node
+	 * @param index  the position of the adjacent node
+	 * @return the pheromone level of the edge
+	 */
+	public double getAdjacentLevel(int node, int index) {
+		return pheromones.getAdjacentLevel(node, index);
+	}
+
+	/**
+	 * Starts caching the choice information of every edge for the specified parameters.
+	 * From then on, every update of a pheromone level also updates the choice information of the edge.
+	 *
+	 * @param alfa the parameter concerning the ant move event added to the pheromone level
+	 * @param beta the parameter concerning the ant move event added to the edge weight
+	 */
+	public void useChoiceInfo(double alfa, double beta) {
+		this.choiceInfo = new ChoiceInfo(graph, pheromones, alfa, beta);
+	}
+
+	/**
+	 * Gets the cached choice information of the edges
+	 *
+	 * @return the choice information, or {@code null} if it is not cached
+	 */
+	public ChoiceInfo getChoiceInfo() {
+		return choiceInfo;
+	}
+
+	/**
+	 * Gets the pheromones table containing all the edges pheromone level.
+	 * The table is built from the pheromone store on every call.
 	 *
 	 * @return the pheromones table
 	 */
 	public double[][] getPheromonesTable(){ 
-		return this.pheromones;
+		int numNodes = graph.getNumNodes();
+		double[][] table = new double[numNodes][numNodes];
+		for (int node = 1; node < numNodes+1; node++) {
+			for (int i = 0; i < graph.getDegree(node); i++) {
+				table[node-1][graph.getAdjacentNode(node, i)-1] = pheromones.getAdjacentLevel(node, i);
+			}
+		}
+		return table;
 	}
 
 	/**
@@ -143,13 +256,12 @@ public class Colony implements IColony{
 	 */
 	public double updateLevel(int startNode, int endNode, double value) {
 		double saveValue = getLevel(startNode, endNode);
-		if (pheromones[startNode-1][endNode-1] + value < 0) {
-			pheromones[startNode-1][endNode-1] = 0;
-			pheromones[endNode-1][startNode-1] = 0;
-		} else {
-			pheromones[startNode-1][endNode-1] += value;
-			pheromones[endNode-1][startNode-1] += value;
-		}
+		double level = saveValue + value;
+		if (level < 0)
+			level = 0;
+		pheromones.setLevel(startNode, endNode, level);
+		if (choiceInfo != null)
+			choiceInfo.update(startNode, endNode, level);
 		// Notify the simulator to add an evaporation event to the queue
 		if ((value > 0) && (saveValue == 0)) {
 			this.notifyObservers(startNode, endNode);
@@ -157,7 +269,57 @@ public class Colony implements IColony{
 			return saveValue;
 		}
 
-		return pheromones[endNode-1][startNode-1]; // return the pheromone level after the update
+		return level; // return the pheromone level after the update
+	}
+
+	/**
+	 * Evaporates the pheromone levels of a list of edges given by their adjacency slots, in a single pass over the
+	 * pheromone store, refreshing their choice information when it is cached. The edges left without pheromones
+	 * are removed from the list by moving the last edge in their place.
+	 *
+	 * @param startNodes   the start node of every edge
+	 * @param slots        the adjacency slot of every edge from its start node
+	 * @param reverseSlots the adjacency slot of every edge from its end node
+	 * @param count        the number of edges
+	 * @param rho          the value of the pheromone level that evaporates
+	 * @return the number of edges that still have pheromones, now first in the list
+	 */
+	public int evaporate(int[] startNodes, int[] slots, int[] reverseSlots, int count, double rho) {
+		return pheromones.evaporate(graph, startNodes, slots, reverseSlots, count, rho, choiceInfo);
+	}
+
+	/**
+	 * Deposits the same amount of pheromone on every edge of a path, in a single pass.
+	 * The edges whose pheromone level was 0 are reported to the observers as one batch,
+	 * so that the simulator schedules their evaporation at once.
+	 *
+	 * @param path   the array holding the nodes of the path
+	 * @param length the number of nodes of the path, from the start of the array
+	 * @param value  the value added to the pheromone level of every edge
+	 */
+	public void depositPheromones(int[] path, int length, double value) {
+		if (activatedStart.length < length) {
+			activatedStart = new int[length];
+			activatedEnd = new int[length];
+		}
+		int numActivated = 0;
+		for (int i = 1; i < length; i++) {
+			int startNode = path[i];
+			int endNode = path[i-1];
+			double saveValue = getLevel(startNode, endNode);
+			double level = saveValue + value;
+			if (level < 0)
+				level = 0;
+			pheromones.setLevel(startNode, endNode, level);
+			if (choiceInfo != null)
+				choiceInfo.update(startNode, endNode, level);
+			if ((value > 0) && (saveValue == 0)) {
+				activatedStart[numActivated] = startNode;
+				activatedEnd[numActivated++] = endNode;
+			}
+		}
+		// Notify the simulator to add the evaporation events of the activated edges to the queue
+		notifyObservers(activatedStart, activatedEnd, numActivated);
 	}
 
 	/**
@@ -175,7 +337,7 @@ public class Colony implements IColony{
 	 * @param cycle  the Hamiltonian cycle
 	 * @param weight the weight of the Hamiltonian cycle
 	 */
-	public void addHamiltonianCycle(ArrayList<Integer> cycle, int weight) {
+	public void addHamiltonianCycle(int[] cycle, long weight) {
 		CycleAndWeight hamiltonianCycle = new CycleAndWeight(cycle, weight);
 		if(!hamiltonianCycles.contains(hamiltonianCycle))
 			hamiltonianCycles.add(hamiltonianCycle);
@@ -207,13 +369,13 @@ public class Colony implements IColony{
 				else
 					System.out.print("\t\t");
 			}
-			ArrayList<Integer> cycle = cycles.get(i).getHamiltonianCycle();
-			int weight = cycles.get(i).getWeight();
+			int[] cycle = cycles.get(i).getHamiltonianCycle();
+			long weight = cycles.get(i).getWeight();
 
 			System.out.print("{");
-			for (int j = 0; j < cycle.size(); j++) {
-				System.out.print(cycle.get(j));
-				if(j != cycle.size() - 1)
+			for (int j = 0; j < cycle.length; j++) {
+				System.out.print(cycle[j]);
+				if(j != cycle.length - 1)
 					System.out.print(",");
 			}
 			System.out.println("}:" + weight);
@@ -235,13 +397,13 @@ public class Colony implements IColony{
 		else {
 			System.out.print("\t");
 
-			ArrayList<Integer> cycle = cycles.get(0).getHamiltonianCycle();
-			int weight = cycles.get(0).getWeight();
+			int[] cycle = cycles.get(0).getHamiltonianCycle();
+			long weight = cycles.get(0).getWeight();
 
 			System.out.print("{");
-			for (int j = 0; j < cycle.size(); j++) {
-				System.out.print(cycle.get(j));
-				if(j != cycle.size() - 1)
+			for (int j = 0; j < cycle.length; j++) {
+				System.out.print(cycle[j]);
+				if(j != cycle.length - 1)
 					System.out.print(",");
 			}
 			System.out.println("}:" + weight);
@@ -1,12 +1,12 @@
 package ao;
 
-import java.util.ArrayList;
-import java.util.Objects;
+import java.util.Arrays;
 
 /**
  * The CycleAndWeight class represents a Hamiltonian cycle and its weight.
  * It provides methods for accessing the cycle and weight, and implements
  * the Comparable interface for comparing Hamiltonian cycles based on their weights.
+ * The cycle is stored as a compact array of nodes, starting at the nest node.
  *
  * @author Diogo Miranda
  * @author João Santos
@@ -15,8 +15,8 @@ import java.util.Objects;
  */
 public class CycleAndWeight implements Comparable<CycleAndWeight> {
 
-	private ArrayList<Integer> cycle;
-	private int weight;
+	private int[] cycle;
+	private long weight;
 
 	/**
      * Constructs a CycleAndWeight object with the specified cycle and weight.
@@ -24,7 +24,7 @@ public class CycleAndWeight implements Comparable<CycleAndWeight> {
      * @param cycle  the Hamiltonian cycle
      * @param weight the weight of the Hamiltonian cycle
      */
-	public CycleAndWeight(ArrayList<Integer> cycle, int weight){
+	public CycleAndWeight(int[] cycle, long weight){
 		this.cycle = cycle;
 		this.weight = weight;
 	}
@@ -34,7 +34,7 @@ public class CycleAndWeight implements Comparable<CycleAndWeight> {
      *
      * @return the weight of the Hamiltonian cycle
      */
-	public int getWeight() {
+	public long getWeight() {
 		return this.weight;
 	}
 
@@ -43,7 +43,7 @@ public class CycleAndWeight implements Comparable<CycleAndWeight> {
      *
      * @return the Hamiltonian cycle
      */
-	public ArrayList<Integer> getHamiltonianCycle(){
+	public int[] getHamiltonianCycle(){
 		return this.cycle;
 	}
 
@@ -57,7 +57,7 @@ public class CycleAndWeight implements Comparable<CycleAndWeight> {
      */
     @Override
 	public int compareTo(CycleAndWeight other) {
-		return Integer.compare(this.weight, other.weight);
+		return Long.compare(this.weight, other.weight);
 	}
 
     /**
@@ -74,7 +74,7 @@ public class CycleAndWeight implements Comparable<CycleAndWeight> {
 		if (obj == null || getClass() != obj.getClass())
 			return false;
 		CycleAndWeight other = (CycleAndWeight) obj;
-		return Objects.equals(cycle, other.cycle);
+		return Arrays.equals(cycle, other.cycle);
 	}
 	
 	/**
@@ -84,6 +84,6 @@ public class CycleAndWeight implements Comparable<CycleAndWeight> {
 	 */
 	@Override
 	public int hashCode() {
-	    return Objects.hashCode(cycle);
+	    return Arrays.hashCode(cycle);
 	}
 }
@@ -0,0 +1,114 @@
+package ao;
+
+import graph.IWeightedGraph;
+
+/**
+ * The {@code EdgePheromoneStore} class stores the pheromone levels in a flat array with one slot per edge
+ * and direction, laid out like the adjacency of the graph (see {@link IWeightedGraph#getAdjacencyOffset(int)}).
+ * <p>
+ * The memory grows with the number of edges instead of the square of the number of nodes, and the levels of
+ * the edges of a node are contiguous, next to each other in the same order as its neighbours.
+ * Reading a level by pair of nodes first looks up the position of the end node in the neighbourhood of the
+ * start node.
+ * </p>
+ *
+ * @see PheromoneStore
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class EdgePheromoneStore implements PheromoneStore {
+
+	private IWeightedGraph graph;
+	private double[] levels;
+
+	/**
+	 * Constructs an EdgePheromoneStore for the specified graph, with every level at 0.
+	 *
+	 * @param graph the weighted graph
+	 * @throws IllegalStateException if the graph has too many edges to be indexed
+	 */
+	public EdgePheromoneStore(IWeightedGraph graph) {
+		this.graph = graph;
+		this.levels = new double[graph.getAdjacencySize()];
+	}
+
+	/**
+	 * Gets the pheromone level of an edge.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @return the pheromone level of the edge, or 0 if the nodes are not adjacent
+	 */
+	public double getLevel(int startNode, int endNode) {
+		int index = graph.getAdjacentIndex(startNode, endNode);
+		if (index < 0)
+			return 0;
+		return levels[graph.getAdjacencyOffset(startNode) + index];
+	}
+
+	/**
+	 * Gets the pheromone level of the edge between a node and one of its adjacent nodes.
+	 *
+	 * @param node  the node
+	 * @param index the position of the adjacent node
+	 * @return the pheromone level of the edge
+	 */
+	public double getAdjacentLevel(int node, int index) {
+		return levels[graph.getAdjacencyOffset(node) + index];
+	}
+
+	/**
+	 * Sets the pheromone level of an edge, in both directions.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @param level     the new pheromone level
+	 * @throws IllegalArgumentException if the nodes are not adjacent
+	 */
+	public void setLevel(int startNode, int endNode, double level) {
+		int forward = graph.getAdjacentIndex(startNode, endNode);
+		int backward = graph.getAdjacentIndex(endNode, startNode);
+		if (forward < 0 || backward < 0)
+			throw new IllegalArgumentException("There is no edge between nodes " + startNode + " and " + endNode);
+		levels[graph.getAdjacencyOffset(startNode) + forward] = level;
+		levels[graph.getAdjacencyOffset(endNode) + backward] = level;
+	}
+
+	/**
+	 * Evaporates the pheromone levels of a list of edges, in a single pass, reading and writing both directions
+	 * of every edge directly at its adjacency slots.
+	 *
+	 * @param graph        the weighted graph of the store
+	 * @param startNodes   the start node of every edge
+	 * @param slots        the adjacency slot of every edge from its start node
+	 * @param reverseSlots the adjacency slot of every edge from its end node
+	 * @param count        the number of edges
+	 * @param rho          the value of the pheromone level that evaporates
+	 * @param choiceInfo   the choice information refreshed with the levels, or {@code null}
+	 * @return the number of edges that still have pheromones, now first in the list
+	 */
+	@Override
+	public int evaporate(IWeightedGraph graph, int[] startNodes, int[] slots, int[] reverseSlots, int count, double rho, ChoiceInfo choiceInfo) {
+		int i = 0;
+		while (i < count) {
+			double level = Math.max(0, levels[slots[i]] - rho);
+			levels[slots[i]] = level;
+			levels[reverseSlots[i]] = level;
+			if (choiceInfo != null)
+				choiceInfo.update(startNodes[i], slots[i], reverseSlots[i], level);
+			if (level > 0) {
+				i++;
+			}
+			else {
+				// Move the last edge in place of the edge without pheromones
+				count--;
+				startNodes[i] = startNodes[count];
+				slots[i] = slots[count];
+				reverseSlots[i] = reverseSlots[count];
+			}
+		}
+		return count;
+	}
+}
@@ -0,0 +1,254 @@
+package ao;
+
+import java.util.random.RandomGenerator;
+import graph.IWeightedGraph;
+
+/**
+ * The FenwickSelection class draws the next node of an ant with a Fenwick tree over the choice information of the
+ * edges of every node of high degree.
+ * <p>
+ * The tree of a node is built the first time an ant draws from it, and is kept up to date with the choice
+ * information, which notifies the strategy whenever the pheromone level of an edge changes. Every few updates of
+ * a node, its tree is rebuilt from scratch so that rounding errors do not pile up.
+ * </p>
+ * <p>
+ * The trees are shared by all the ants, so they hold the visited neighbours too. A draw takes a time logarithmic
+ * in the degree d of the node, but lands on a visited node with the probability of the visited neighbours; it then
+ * removes the node from the tree and draws again, and the removed nodes are put back once the draw is over.
+ * With u unvisited neighbours of similar attractiveness, a move thus takes about d/u draws, a time in
+ * O((d/u) log d), not O(log d). When the ant has fewer than one unvisited node every
+ * {@value #MAX_EXPECTED_DRAWS} neighbours, which happens late in its tour, the tree is skipped for a linear scan,
+ * in O(d). After {@value #MAX_REJECTIONS} rejections the draw also falls back to the linear scan, since the
+ * unvisited nodes of the ant need not be neighbours. Nodes with a degree lower than the minimum degree always use
+ * the linear scan.
+ * </p>
+ * <p>
+ * The trees and the scratch arrays belong to the instance, so an instance must not be shared by simulations
+ * running concurrently.
+ * </p>
+ *
+ * @see SelectionStrategy
+ * @see LinearSelection
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class FenwickSelection implements SelectionStrategy, ChoiceInfoObserver {
+
+	/**
+	 * Maximum number of visited nodes drawn before falling back to a linear scan.
+	 */
+	public static final int MAX_REJECTIONS = 32;
+
+	/**
+	 * Maximum ratio of the degree of a node to the number of unvisited nodes of the ant for which the tree is used,
+	 * which bounds the expected number of draws of a move.
+	 */
+	public static final int MAX_EXPECTED_DRAWS = 8;
+
+	private IWeightedGraph graph;
+	private int minDegree;
+	private LinearSelection linear;
+	private ChoiceInfo choiceInfo;
+
+	// Per node: the Fenwick tree, the choice information it holds, and the updates since it was built
+	private double[][] trees;
+	private double[][] values;
+	private int[] updates;
+
+	private int[] removed = new int[MAX_REJECTIONS];
+
+	/**
+	 * Constructs a FenwickSelection for the specified graph.
+	 *
+	 * @param graph     the weighted graph
+	 * @param minDegree the minimum degree of the nodes drawn with a Fenwick tree
+	 */
+	public FenwickSelection(IWeightedGraph graph, int minDegree) {
+		this.graph = graph;
+		this.minDegree = Math.max(minDegree, 2);
+		this.linear = new LinearSelection(graph);
+	}
+
+	/**
+	 * Draws one of the unvisited adjacent nodes of a node.
+	 *
+	 * @param ant        the ant to move
+	 * @param node       the current node of the ant
+	 * @param choiceInfo the choice information of the edges
+	 * @param random     the random generator of the draw
+	 * @return the position of the drawn node, or -1 if all the adjacent nodes were visited
+	 */
+	public int select(IAnt ant, int node, ChoiceInfo choiceInfo, RandomGenerator random) {
+		int degree = graph.getDegree(node);
+		// Few unvisited nodes left: the draws would mostly land on visited nodes
+		if (degree < minDegree || (long) ant.getNumUnvisited() * MAX_EXPECTED_DRAWS < degree)
+			return linear.select(ant, node, choiceInfo, random);
+
+		bind(choiceInfo);
+		if (trees[node-1] == null)
+			build(node);
+		double[] tree = trees[node-1];
+		double[] weights = values[node-1];
+
+		int selected = -1;
+		int numRemoved = 0;
+		for (int attempt = 0; attempt < MAX_REJECTIONS; attempt++) {
+			double total = prefixSum(tree, degree);
+			if (!(total > 0))
+				break;
+			int index = find(tree, degree, random.nextDouble() * total);
+			if (!ant.isVisited(graph.getAdjacentNode(node, index))) {
+				selected = index;
+				break;
+			}
+			// Leave the visited node out of the next draws
+			if (!contains(removed, numRemoved, index)) {
+				add(tree, degree, index, -weights[index]);
+				removed[numRemoved++] = index;
+			}
+		}
+		for (int i = 0; i < numRemoved; i++) {
+			add(tree, degree, removed[i], weights[removed[i]]);
+		}
+
+		if (selected < 0)
+			return linear.select(ant, node, choiceInfo, random);
+		return selected;
+	}
+
+	/**
+	 * Receives the update of the choice information of an edge, and updates the trees of its two nodes.
+	 *
+	 * @param startNode  the start node of the edge
+	 * @param startIndex the position of the end node in the neighbourhood of the start node
+	 * @param endNode    the end node of the edge
+	 * @param endIndex   the position of the start node in the neighbourhood of the end node
+	 */
+	public void update(int startNode, int startIndex, int endNode, int endIndex) {
+		updateTree(startNode, startIndex);
+		updateTree(endNode, endIndex);
+	}
+
+	/**
+	 * Starts following the specified choice information, dropping the trees built from any other one.
+	 *
+	 * @param choiceInfo the choice information of the edges
+	 */
+	private void bind(ChoiceInfo choiceInfo) {
+		if (this.choiceInfo == choiceInfo)
+			return;
+		this.choiceInfo = choiceInfo;
+		int numNodes = graph.getNumNodes();
+		this.trees = new double[numNodes][];
+		this.values = new double[numNodes][];
+		this.updates = new int[numNodes];
+		choiceInfo.addObserver(this);
+	}
+
+	/**
+	 * Builds the Fenwick tree of a node from the choice information of its edges, in linear time.
+	 *
+	 * @param node the node
+	 */
+	private void build(int node) {
+		int degree = graph.getDegree(node);
+		double[] weights = new double[degree];
+		double[] tree = new double[degree];
+		for (int i = 0; i < degree; i++) {
+			weights[i] = choiceInfo.get(node, i);
+			tree[i] += weights[i];
+			int parent = i + ((i + 1) & -(i + 1));
+			if (parent < degree)
+				tree[parent] += tree[i];
+		}
+		trees[node-1] = tree;
+		values[node-1] = weights;
+		updates[node-1] = 0;
+	}
+
+	/**
+	 * Updates the tree of a node, if it was built, after the choice information of one of its edges changed.
+	 *
+	 * @param node  the node
+	 * @param index the position of the other node of the edge in the neighbourhood of the node
+	 */
+	private void updateTree(int node, int index) {
+		double[] tree = trees[node-1];
+		if (tree == null)
+			return;
+		int degree = tree.length;
+		if (++updates[node-1] > degree) {
+			build(node);
+			return;
+		}
+		double value = choiceInfo.get(node, index);
+		add(tree, degree, index, value - values[node-1][index]);
+		values[node-1][index] = value;
+	}
+
+	/**
+	 * Adds a value to one of the weights of a Fenwick tree.
+	 *
+	 * @param tree   the Fenwick tree
+	 * @param degree the number of weights
+	 * @param index  the position of the weight
+	 * @param delta  the value to add
+	 */
+	private static void add(double[] tree, int degree, int index, double delta) {
+		for (int k = index + 1; k <= degree; k += k & -k) {
+			tree[k-1] += delta;
+		}
+	}
+
+	/**
+	 * Computes the sum of the first weights of a Fenwick tree.
+	 *
+	 * @param tree  the Fenwick tree
+	 * @param count the number of weights to sum
+	 * @return the sum of the weights
+	 */
+	private static double prefixSum(double[] tree, int count) {
+		double sum = 0;
+		for (int k = count; k > 0; k -= k & -k) {
+			sum += tree[k-1];
+		}
+		return sum;
+	}
+
+	/**
+	 * Finds the first weight of a Fenwick tree whose prefix sum exceeds a target.
+	 *
+	 * @param tree   the Fenwick tree
+	 * @param degree the number of weights
+	 * @param target the target, between 0 and the sum of the weights
+	 * @return the position of the weight
+	 */
+	private static int find(double[] tree, int degree, double target) {
+		int position = 0;
+		for (int step = Integer.highestOneBit(degree); step > 0; step >>= 1) {
+			if (position + step <= degree && tree[position + step - 1] <= target) {
+				position += step;
+				target -= tree[position - 1];
+			}
+		}
+		return Math.min(position, degree - 1);
+	}
+
+	/**
+	 * Checks if the first elements of an array contain a value.
+	 *
+	 * @param array the array
+	 * @param count the number of elements to check
+	 * @param value the value
+	 * @return {@code true} if the value is found, {@code false} otherwise
+	 */
+	private static boolean contains(int[] array, int count, int value) {
+		for (int i = 0; i < count; i++) {
+			if (array[i] == value)
+				return true;
+		}
+		return false;
+	}
+}
@@ -1,8 +1,6 @@
 package ao;
 
-import java.util.ArrayList;
-
-
+import java.util.random.RandomGenerator;
 /**
  * The IAnt interface represents an ant and defines all the basic methods belonging to it.
  *
@@ -41,19 +39,144 @@ public interface IAnt {
 	public void setCurrentNode(int node);
 	
     /**
-     * Gets the list of unvisited nodes by the ant.
+     * Checks if the ant has visited a node, in constant time.
+     *
+     * @param node the node to check
+     * @return {@code true} if the node was visited, {@code false} otherwise
+     */
+	public boolean isVisited(int node);
+
+    /**
+     * Marks a node as visited by the ant.
+     *
+     * @param node the visited node
+     */
+	public void markVisited(int node);
+
+    /**
+     * Marks a node as unvisited by the ant, when it leaves the path.
+     *
+     * @param node the node to mark as unvisited
+     */
+	public void markUnvisited(int node);
+
+    /**
+     * Marks every node as unvisited by the ant, except the given one.
+     *
+     * @param node the only visited node, where the ant starts a new path
+     */
+	public void resetVisited(int node);
+
+    /**
+     * Gets the number of nodes not visited by the ant.
      *
-     * @return the list of unvisited nodes
+     * @return the number of unvisited nodes
      */
-	public ArrayList<Integer> getUnvisitedNodes();
+	public int getNumUnvisited();
 	
     /**
-     * Gets the path traversed by the ant.
+     * Gets the number of nodes in the path traversed by the ant.
+     *
+     * @return the length of the path
+     */
+	public int getPathLength();
+
+    /**
+     * Gets a node of the path traversed by the ant.
+     *
+     * @param position the position in the path, between 0 and {@code getPathLength()-1}
+     * @return the node at the given position
+     */
+	public int getPathNode(int position);
+
+    /**
+     * Adds a node at the end of the path of the ant.
+     *
+     * @param node the node to add
+     */
+	public void addToPath(int node);
+
+    /**
+     * Adds a node at the end of the path of the ant, reached through an edge of known weight.
+     *
+     * @param node   the node to add
+     * @param weight the weight of the edge from the last node of the path, ignored if the path is empty
+     */
+	public void addToPath(int node, int weight);
+
+    /**
+     * Gets the weight of the path traversed by the ant, accumulated as it moves.
+     *
+     * @return the sum of the weights of the edges of the path
+     */
+	public long getPathWeight();
+
+    /**
+     * Gets the weight of the first nodes of the path traversed by the ant.
+     *
+     * @param length the number of nodes, between 0 and {@code getPathLength()}
+     * @return the sum of the weights of the edges between these nodes
+     */
+	public long getPathWeight(int length);
+
+    /**
+     * Shortens the path of the ant, keeping only its first nodes.
+     *
+     * @param length the new length of the path
+     */
+	public void truncatePath(int length);
+
+    /**
+     * Gets the last position of a node in the path traversed by the ant.
      *
-     * @return the path of the ant
+     * @param node the node
+     * @return the position of the node in the path, or -1 if the node is not in the path
      */
-	public ArrayList<Integer> getPath();
+	public int getPathPosition(int node);
+
+    /**
+     * Backtracks to a node of the path, removing the nodes after it from the path and marking them as unvisited.
+     *
+     * @param node the node to backtrack to
+     * @return the number of nodes removed from the path
+     */
+	public int backtrackTo(int node);
+
+    /**
+     * Gets the number of moves of the ant that backtracked to a node of its path.
+     *
+     * @return the number of backtracking moves
+     */
+	public long getNumBacktracks();
+
+    /**
+     * Adds moves of the ant that were undone by backtracking.
+     *
+     * @param moves the number of wasted moves
+     */
+	public void addWastedMoves(int moves);
+
+    /**
+     * Gets the number of moves of the ant that were undone by backtracking.
+     *
+     * @return the number of wasted moves
+     */
+	public long getNumWastedMoves();
+
+    /**
+     * Copies the path traversed by the ant.
+     *
+     * @return a new array with the nodes of the path
+     */
+	public int[] copyPath();
 	
+    /**
+     * Gets the random stream of the ant, used for all its decisions and move durations.
+     *
+     * @return the random generator of the ant
+     */
+	public RandomGenerator getRandom();
+
     /**
      * Gets the colony that the ant belongs to.
      *
@@ -79,5 +202,5 @@ public interface IAnt {
      * @param gamma  the gamma parameter for updating pheromones
      * @return the weight of the Hamiltonian cycle
      */
-	public int updatePheromones(IColony colony, double gamma);
+	public long updatePheromones(IColony colony, double gamma);
 }
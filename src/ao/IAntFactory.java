@@ -1,5 +1,6 @@
 package ao;
 
+import java.util.random.RandomGenerator;
 import graph.IWeightedGraph;
 
 /**
@@ -19,7 +20,8 @@ public interface IAntFactory {
 	 * @param graphGetters  the weighted graph
 	 * @param colony        the colony that the ant belongs to
 	 * @param algorithm     the optimization algorithm used by the ant
+	 * @param random        the random stream of the ant
 	 * @return a new instance of the Ant class
 	 */
-	IAnt createAntInstance(int nestNode, IWeightedGraph graphGetters, IColony colony, AntOptimizationAlgorithm algorithm);
+	IAnt createAntInstance(int nestNode, IWeightedGraph graphGetters, IColony colony, AntOptimizationAlgorithm algorithm, RandomGenerator random);
 }
@@ -37,6 +37,15 @@ public interface IColony {
      * @param endNode   the end node of the observed event
      */
 	void notifyObservers(int startNode, int endNode);  
+
+    /**
+     * Notifies the observers of the colony about a batch of changes in state.
+     *
+     * @param startNodes the start nodes of the observed events
+     * @param endNodes   the end nodes of the observed events
+     * @param count      the number of events
+     */
+	void notifyObservers(int[] startNodes, int[] endNodes, int count);
 	
     /**
      * Gets the number of ants in the colony.
@@ -51,6 +60,20 @@ public interface IColony {
      * @return the nest node of the colony
      */
 	int getNestNode();
+
+    /**
+     * Gets the number of moves of all the ants of the colony that backtracked to a node of their path.
+     *
+     * @return the number of backtracking moves
+     */
+	long getNumBacktracks();
+
+    /**
+     * Gets the number of moves of all the ants of the colony that were undone by backtracking.
+     *
+     * @return the number of wasted moves
+     */
+	long getNumWastedMoves();
 	
     /**
      * Gets the pheromone level between two nodes in the graph.
@@ -60,6 +83,16 @@ public interface IColony {
      * @return the pheromone level between the nodes
      */
 	double getLevel(int startNode, int endNode);
+
+    /**
+     * Gets the pheromone level of the edge between a node and one of its adjacent nodes,
+     * numbered as in {@link graph.IWeightedGraph#getAdjacentNode(int, int)}.
+     *
+     * @param node  the node
+     * @param index the position of the adjacent node
+     * @return the pheromone level of the edge
+     */
+	double getAdjacentLevel(int node, int index);
 	
     /**
      * Gets the pheromones table representing the pheromone levels between nodes in the graph.
@@ -67,6 +100,21 @@ public interface IColony {
      * @return the pheromones table
      */
 	double[][] getPheromonesTable();
+
+    /**
+     * Starts caching the choice information of every edge, which is kept up to date with the pheromone levels.
+     *
+     * @param alfa the parameter concerning the ant move event added to the pheromone level
+     * @param beta the parameter concerning the ant move event added to the edge weight
+     */
+	void useChoiceInfo(double alfa, double beta);
+
+    /**
+     * Gets the cached choice information of the edges.
+     *
+     * @return the choice information, or {@code null} if it is not cached
+     */
+	ChoiceInfo getChoiceInfo();
 	
     /**
      * Updates the pheromone level between two nodes in the graph by the specified value.
@@ -77,6 +125,30 @@ public interface IColony {
      * @return the updated pheromone level between the nodes
      */
 	double updateLevel(int startNode, int endNode, double value);
+
+    /**
+     * Evaporates the pheromone levels of a list of edges given by their adjacency slots, in a single pass over the
+     * pheromone store, refreshing their choice information when it is cached. The edges left without pheromones
+     * are removed from the list by moving the last edge in their place.
+     *
+     * @param startNodes   the start node of every edge
+     * @param slots        the adjacency slot of every edge from its start node
+     * @param reverseSlots the adjacency slot of every edge from its end node
+     * @param count        the number of edges
+     * @param rho          the value of the pheromone level that evaporates
+     * @return the number of edges that still have pheromones, now first in the list
+     */
+	int evaporate(int[] startNodes, int[] slots, int[] reverseSlots, int count, double rho);
+
+    /**
+     * Deposits the same amount of pheromone on every edge of a path, in a single pass.
+     * The edges whose pheromone level was 0 are reported to the observers as one batch.
+     *
+     * @param path   the array holding the nodes of the path
+     * @param length the number of nodes of the path, from the start of the array
+     * @param value  the value added to the pheromone level of every edge
+     */
+	void depositPheromones(int[] path, int length, double value);
 	
     /**
      * Gets a list of ants in the colony.
@@ -88,10 +160,10 @@ public interface IColony {
     /**
      * Adds a Hamiltonian cycle to the colony with its weight.
      *
-     * @param cycle  the Hamiltonian cycle represented as a list of nodes
+     * @param cycle  the Hamiltonian cycle represented as an array of nodes
      * @param weight the weight of the Hamiltonian cycle
      */
-	public void addHamiltonianCycle(ArrayList<Integer> cycle, int weight);
+	public void addHamiltonianCycle(int[] cycle, long weight);
 	
     /**
      * Prints the top N Hamiltonian cycles (Excluding the best one) in the colony based on their weights.
@@ -0,0 +1,169 @@
+package ao;
+
+import java.util.function.DoubleSupplier;
+import java.util.random.RandomGenerator;
+import distribution.ExponentialDistributionStrategy;
+import graph.IWeightedGraph;
+
+/**
+ * The {@code LazyEvaporationStore} class evaporates the pheromone levels of another store when they are read,
+ * instead of with an evaporation event per edge.
+ * <p>
+ * In the simulation, an edge with pheromones evaporates by {@code rho} at exponential times of mean {@code eta},
+ * until its level reaches 0, so the number of evaporations over any time follows a Poisson distribution. This
+ * store draws the same process: every edge keeps the time of its next evaporation, drawn from an exponential of
+ * mean {@code eta} when the edge receives pheromones. When the level of an edge is read or set at time {@code t},
+ * the evaporations due up to {@code t} are applied, drawing the time of the following one each time, and the new
+ * level and next time are stored. The levels therefore follow the same dynamics as with evaporation events, only
+ * with different random draws, while the evaporation events disappear from the event queue.
+ * </p>
+ * <p>
+ * No evaporation event is simulated, so the observations of the simulation show 0 evaporation events.
+ * </p>
+ * <p>
+ * The time is read from a clock, usually the current time of the simulator. The next times are kept per edge and
+ * direction, laid out like the adjacency of the graph (see {@link IWeightedGraph#getAdjacencyOffset(int)}), and
+ * both directions of an edge always hold the same time. Since the levels change without being set, they must not
+ * be cached, as the {@link ChoiceInfo} does.
+ * </p>
+ *
+ * @see PheromoneStore
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class LazyEvaporationStore implements PheromoneStore {
+
+	private IWeightedGraph graph;
+	private PheromoneStore levels;
+	private double eta;
+	private double rho;
+	private double[] next;
+	private RandomGenerator random;
+	private DoubleSupplier clock = () -> 0;
+
+	/**
+	 * Constructs a LazyEvaporationStore that evaporates the levels of the specified store,
+	 * which are taken as set at time 0.
+	 *
+	 * @param graph  the weighted graph
+	 * @param levels the store of the levels as last evaporated
+	 * @param eta    the mean time between the evaporations of an edge
+	 * @param rho    the value of the pheromone level that evaporates each time
+	 * @param random the random generator of the evaporation times
+	 * @throws IllegalStateException if the graph has too many edges to be indexed
+	 */
+	public LazyEvaporationStore(IWeightedGraph graph, PheromoneStore levels, double eta, double rho, RandomGenerator random) {
+		this.graph = graph;
+		this.levels = levels;
+		this.eta = eta;
+		this.rho = rho;
+		this.random = random;
+		this.next = new double[graph.getAdjacencySize()];
+
+		// Levels loaded from a pheromone file evaporate from time 0
+		for (int node = 1; node < graph.getNumNodes() + 1; node++) {
+			for (int i = 0; i < graph.getDegree(node); i++) {
+				int adjacentNode = graph.getAdjacentNode(node, i);
+				if (node < adjacentNode && levels.getAdjacentLevel(node, i) > 0)
+					setNext(node, i, adjacentNode, ExponentialDistributionStrategy.sample(random, eta));
+			}
+		}
+	}
+
+	/**
+	 * Sets the clock the time is read from when a level is read or set.
+	 *
+	 * @param clock the clock, such as the current time of the simulator
+	 */
+	public void setClock(DoubleSupplier clock) {
+		this.clock = clock;
+	}
+
+	/**
+	 * Gets the pheromone level of an edge, evaporated up to the current time.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @return the pheromone level of the edge, or 0 if the nodes are not adjacent
+	 */
+	public double getLevel(int startNode, int endNode) {
+		int index = graph.getAdjacentIndex(startNode, endNode);
+		if (index < 0)
+			return 0;
+		return getAdjacentLevel(startNode, index);
+	}
+
+	/**
+	 * Gets the pheromone level of the edge between a node and one of its adjacent nodes, evaporated up to the current time.
+	 *
+	 * @param node  the node
+	 * @param index the position of the adjacent node
+	 * @return the pheromone level of the edge
+	 */
+	public double getAdjacentLevel(int node, int index) {
+		double level = levels.getAdjacentLevel(node, index);
+		if (level == 0)
+			return 0;
+		double time = clock.getAsDouble();
+		double nextTime = next[graph.getAdjacencyOffset(node) + index];
+		if (nextTime > time)
+			return level;
+
+		// Apply the evaporations due by now, each one at an exponential time after the previous one
+		while (nextTime <= time && level > 0) {
+			level = Math.max(0, level - rho);
+			nextTime += ExponentialDistributionStrategy.sample(random, eta);
+		}
+		int adjacentNode = graph.getAdjacentNode(node, index);
+		levels.setLevel(node, adjacentNode, level);
+		setNext(node, index, adjacentNode, nextTime);
+		return level;
+	}
+
+	/**
+	 * Sets the pheromone level of an edge, in both directions, at the current time. An edge that had no
+	 * pheromones left draws the time of its next evaporation.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @param level     the new pheromone level
+	 * @throws IllegalArgumentException if the nodes are not adjacent
+	 */
+	public void setLevel(int startNode, int endNode, double level) {
+		int index = graph.getAdjacentIndex(startNode, endNode);
+		if (index < 0 || graph.getAdjacentIndex(endNode, startNode) < 0)
+			throw new IllegalArgumentException("There is no edge between nodes " + startNode + " and " + endNode);
+		// The evaporations due by now are applied first, so that the next time is after now
+		if (getAdjacentLevel(startNode, index) == 0 && level > 0)
+			setNext(startNode, index, endNode, clock.getAsDouble() + ExponentialDistributionStrategy.sample(random, eta));
+		levels.setLevel(startNode, endNode, level);
+	}
+
+	/**
+	 * Writes the levels evaporated up to the current time into the underlying store,
+	 * for instance before it is flushed to a file.
+	 */
+	public void settle() {
+		for (int node = 1; node < graph.getNumNodes() + 1; node++) {
+			for (int i = 0; i < graph.getDegree(node); i++) {
+				if (node < graph.getAdjacentNode(node, i))
+					getAdjacentLevel(node, i);
+			}
+		}
+	}
+
+	/**
+	 * Sets the time of the next evaporation of an edge, in both directions.
+	 *
+	 * @param node         the node
+	 * @param index        the position of the adjacent node
+	 * @param adjacentNode the adjacent node
+	 * @param time         the time of the next evaporation
+	 */
+	private void setNext(int node, int index, int adjacentNode, double time) {
+		next[graph.getAdjacencyOffset(node) + index] = time;
+		next[graph.getAdjacencyOffset(adjacentNode) + graph.getAdjacentIndex(adjacentNode, node)] = time;
+	}
+}
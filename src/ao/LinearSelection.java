@@ -0,0 +1,70 @@
+package ao;
+
+import java.util.random.RandomGenerator;
+import graph.IWeightedGraph;
+
+/**
+ * The LinearSelection class draws the next node of an ant with a roulette wheel over the whole neighbourhood
+ * of its current node, which takes a time linear in the degree of the node.
+ * <p>
+ * The cumulative choice information is kept in a scratch array reused by every draw, so an instance must not be
+ * shared by simulations running concurrently.
+ * </p>
+ *
+ * @see SelectionStrategy
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class LinearSelection implements SelectionStrategy {
+
+	private IWeightedGraph graph;
+	private int[] adjacentIndices = new int[0];
+	private double[] cumulativeProbs = new double[0];
+
+	/**
+	 * Constructs a LinearSelection for the specified graph.
+	 *
+	 * @param graph the weighted graph
+	 */
+	public LinearSelection(IWeightedGraph graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * Draws one of the unvisited adjacent nodes of a node.
+	 *
+	 * @param ant        the ant to move
+	 * @param node       the current node of the ant
+	 * @param choiceInfo the choice information of the edges
+	 * @param random     the random generator of the draw
+	 * @return the position of the drawn node, or -1 if all the adjacent nodes were visited
+	 */
+	public int select(IAnt ant, int node, ChoiceInfo choiceInfo, RandomGenerator random) {
+		int degree = graph.getDegree(node);
+		if (adjacentIndices.length < degree) {
+			adjacentIndices = new int[degree];
+			cumulativeProbs = new double[degree];
+		}
+
+		int count = 0;
+		double sumProbs = 0;
+		for (int i = 0; i < degree; i++) {
+			if (!ant.isVisited(graph.getAdjacentNode(node, i))) {
+				sumProbs += choiceInfo.get(node, i);
+				adjacentIndices[count] = i;
+				cumulativeProbs[count++] = sumProbs;
+			}
+		}
+		if (count == 0)
+			return -1;
+
+		double randomNumber = random.nextDouble() * sumProbs;
+		for (int i = 0; i < count - 1; i++) {
+			if (randomNumber < cumulativeProbs[i])
+				return adjacentIndices[i];
+		}
+		return adjacentIndices[count - 1];
+	}
+}
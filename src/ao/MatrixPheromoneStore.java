@@ -0,0 +1,68 @@
+package ao;
+
+import graph.IWeightedGraph;
+
+/**
+ * The {@code MatrixPheromoneStore} class stores the pheromone levels in a square matrix with one entry
+ * per pair of nodes.
+ * <p>
+ * Every level is read with a single array access, but the memory grows with the square of the number of nodes
+ * whatever the number of edges, so it is only suited to small or dense graphs.
+ * </p>
+ *
+ * @see PheromoneStore
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class MatrixPheromoneStore implements PheromoneStore {
+
+	private IWeightedGraph graph;
+	private double[][] pheromones;
+
+	/**
+	 * Constructs a MatrixPheromoneStore for the specified graph, with every level at 0.
+	 *
+	 * @param graph the weighted graph
+	 */
+	public MatrixPheromoneStore(IWeightedGraph graph) {
+		int numNodes = graph.getNumNodes();
+		this.graph = graph;
+		this.pheromones = new double[numNodes][numNodes];
+	}
+
+	/**
+	 * Gets the pheromone level of an edge.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @return the pheromone level of the edge
+	 */
+	public double getLevel(int startNode, int endNode) {
+		return pheromones[startNode-1][endNode-1];
+	}
+
+	/**
+	 * Gets the pheromone level of the edge between a node and one of its adjacent nodes.
+	 *
+	 * @param node  the node
+	 * @param index the position of the adjacent node
+	 * @return the pheromone level of the edge
+	 */
+	public double getAdjacentLevel(int node, int index) {
+		return pheromones[node-1][graph.getAdjacentNode(node, index)-1];
+	}
+
+	/**
+	 * Sets the pheromone level of an edge, in both directions.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @param level     the new pheromone level
+	 */
+	public void setLevel(int startNode, int endNode, double level) {
+		pheromones[startNode-1][endNode-1] = level;
+		pheromones[endNode-1][startNode-1] = level;
+	}
+}
@@ -0,0 +1,203 @@
+package ao;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import graph.IWeightedGraph;
+
+/**
+ * The {@code OffHeapPheromoneStore} class stores the pheromone levels in a square matrix kept outside the Java heap,
+ * either in direct buffers or in a memory-mapped file.
+ * <p>
+ * The matrix is split in chunks of whole rows of at most 1 GiB, since a single buffer cannot hold more than
+ * {@code Integer.MAX_VALUE} bytes. The garbage collector never scans or moves the levels, which matters for
+ * large dense graphs.
+ * </p>
+ * <p>
+ * A pheromone file is made of a header followed by the rows of the matrix, as little-endian doubles:
+ * <pre>
+ * magic, version, nodes, 0 (32-bit integers)
+ * levels[nodes*nodes]
+ * </pre>
+ * When the file already exists its levels are kept, so that the levels of a previous run can be inspected
+ * or used as the starting levels of a new run on the same graph.
+ * </p>
+ *
+ * @see PheromoneStore
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class OffHeapPheromoneStore implements PheromoneStore, Flushable {
+
+	/**
+	 * Magic number at the start of every pheromone file ("ACOP").
+	 */
+	public static final int MAGIC = 0x41434F50;
+
+	/**
+	 * Version of the pheromone file format.
+	 */
+	public static final int VERSION = 1;
+
+	private static final int HEADER_BYTES = 16;
+	private static final long CHUNK_BYTES = 1L << 30;
+
+	private IWeightedGraph graph;
+	private int nodes;
+	private int rowsPerChunk;
+	private DoubleBuffer[] chunks;
+	private MappedByteBuffer[] mappedChunks;
+	private boolean loaded;
+
+	/**
+	 * Constructs an OffHeapPheromoneStore for the specified graph in direct buffers, with every level at 0.
+	 *
+	 * @param graph the weighted graph
+	 */
+	public OffHeapPheromoneStore(IWeightedGraph graph) {
+		initChunks(graph);
+		for (int c = 0; c < chunks.length; c++) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(chunkBytes(c)).order(ByteOrder.nativeOrder());
+			chunks[c] = buffer.asDoubleBuffer();
+		}
+	}
+
+	/**
+	 * Constructs an OffHeapPheromoneStore for the specified graph in a memory-mapped pheromone file.
+	 * A new file is created with every level at 0, and an existing file keeps its levels.
+	 *
+	 * @param graph the weighted graph
+	 * @param file  the path of the pheromone file
+	 * @throws IOException if the file cannot be created or mapped
+	 * @throws IllegalArgumentException if the existing file is not a pheromone file of a graph with the same number of nodes
+	 */
+	public OffHeapPheromoneStore(IWeightedGraph graph, Path file) throws IOException {
+		initChunks(graph);
+		this.mappedChunks = new MappedByteBuffer[chunks.length];
+		long size = HEADER_BYTES + (long) nodes * nodes * Double.BYTES;
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			if (channel.size() == 0) {
+				header.putInt(MAGIC).putInt(VERSION).putInt(nodes).putInt(0).flip();
+				while (header.hasRemaining()) {
+					channel.write(header, header.position());
+				}
+				// Writing the last byte extends the file, the levels in between read as 0
+				channel.write(ByteBuffer.allocate(1), size - 1);
+			}
+			else {
+				while (header.hasRemaining()) {
+					if (channel.read(header, header.position()) < 0)
+						break;
+				}
+				header.flip();
+				if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC)
+					throw new IllegalArgumentException("The file is not a pheromone file");
+				if (header.getInt() != VERSION)
+					throw new IllegalArgumentException("Unsupported pheromone file version");
+				if (header.getInt() != nodes || channel.size() != size)
+					throw new IllegalArgumentException("The pheromone file does not match the number of nodes of the graph");
+				this.loaded = true;
+			}
+
+			long position = HEADER_BYTES;
+			for (int c = 0; c < chunks.length; c++) {
+				mappedChunks[c] = channel.map(FileChannel.MapMode.READ_WRITE, position, chunkBytes(c));
+				mappedChunks[c].order(ByteOrder.LITTLE_ENDIAN);
+				chunks[c] = mappedChunks[c].asDoubleBuffer();
+				position += chunkBytes(c);
+			}
+		}
+	}
+
+	/**
+	 * Splits the matrix of the specified graph in chunks of whole rows.
+	 *
+	 * @param graph the weighted graph
+	 */
+	private void initChunks(IWeightedGraph graph) {
+		this.graph = graph;
+		this.nodes = graph.getNumNodes();
+		long rowBytes = Math.max(1L, (long) nodes * Double.BYTES);
+		this.rowsPerChunk = (int) Math.max(1L, Math.min(CHUNK_BYTES / rowBytes, nodes));
+		int numChunks = (nodes == 0) ? 0 : (nodes + rowsPerChunk - 1) / rowsPerChunk;
+		this.chunks = new DoubleBuffer[numChunks];
+	}
+
+	/**
+	 * Returns the number of bytes of a chunk, the last one holding the remaining rows.
+	 *
+	 * @param chunk the chunk
+	 * @return the number of bytes of the chunk
+	 */
+	private int chunkBytes(int chunk) {
+		int rows = Math.min(rowsPerChunk, nodes - chunk * rowsPerChunk);
+		return (int) ((long) rows * nodes * Double.BYTES);
+	}
+
+	/**
+	 * Checks if the levels were loaded from an existing pheromone file.
+	 *
+	 * @return {@code true} if the levels come from an existing file, {@code false} if they all started at 0
+	 */
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * Gets the pheromone level of an edge.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @return the pheromone level of the edge
+	 */
+	public double getLevel(int startNode, int endNode) {
+		int row = startNode - 1;
+		return chunks[row / rowsPerChunk].get((row % rowsPerChunk) * nodes + endNode - 1);
+	}
+
+	/**
+	 * Gets the pheromone level of the edge between a node and one of its adjacent nodes.
+	 *
+	 * @param node  the node
+	 * @param index the position of the adjacent node
+	 * @return the pheromone level of the edge
+	 */
+	public double getAdjacentLevel(int node, int index) {
+		return getLevel(node, graph.getAdjacentNode(node, index));
+	}
+
+	/**
+	 * Sets the pheromone level of an edge, in both directions.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @param level     the new pheromone level
+	 */
+	public void setLevel(int startNode, int endNode, double level) {
+		int row = startNode - 1;
+		chunks[row / rowsPerChunk].put((row % rowsPerChunk) * nodes + endNode - 1, level);
+		row = endNode - 1;
+		chunks[row / rowsPerChunk].put((row % rowsPerChunk) * nodes + startNode - 1, level);
+	}
+
+	/**
+	 * Writes the levels to the pheromone file. It does nothing when the levels are kept in direct buffers.
+	 */
+	public void flush() {
+		if (mappedChunks == null)
+			return;
+		for (MappedByteBuffer chunk : mappedChunks) {
+			chunk.force();
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package ao;
+
+import graph.IWeightedGraph;
+
+/**
+ * The {@code PheromoneStore} interface represents the storage of the pheromone levels of the edges of a graph.
+ * <p>
+ * The levels are symmetric: setting the level of the edge from {@code startNode} to {@code endNode} also sets
+ * the level of the edge from {@code endNode} to {@code startNode}. An edge that never received pheromones has
+ * a level of 0.
+ * </p>
+ * <p>
+ * Besides the access by pair of nodes, the levels can be read by position in the neighbourhood of a node,
+ * with the same numbering as {@link graph.IWeightedGraph#getAdjacentNode(int, int)}, which is how the ants
+ * read them while choosing their next node.
+ * </p>
+ *
+ * @see Colony
+ * @see MatrixPheromoneStore
+ * @see EdgePheromoneStore
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public interface PheromoneStore {
+
+	/**
+	 * Gets the pheromone level of an edge.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @return the pheromone level of the edge
+	 */
+	double getLevel(int startNode, int endNode);
+
+	/**
+	 * Gets the pheromone level of the edge between a node and one of its adjacent nodes.
+	 *
+	 * @param node  the node
+	 * @param index the position of the adjacent node, between 0 and {@code getDegree(node)-1}
+	 * @return the pheromone level of the edge
+	 */
+	double getAdjacentLevel(int node, int index);
+
+	/**
+	 * Sets the pheromone level of an edge, in both directions.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @param level     the new pheromone level
+	 */
+	void setLevel(int startNode, int endNode, double level);
+
+	/**
+	 * Evaporates the pheromone levels of a list of edges, in a single pass, as the evaporation sweep does.
+	 * <p>
+	 * Edge i goes from {@code startNodes[i]} through the adjacency slot {@code slots[i]}, and comes back through
+	 * the slot {@code reverseSlots[i]} (see {@link graph.IWeightedGraph#getAdjacencyOffset(int)}). The level of
+	 * every edge decreases by {@code rho}, down to 0, and the choice information of the edge, when given, is
+	 * refreshed in the same pass. The edges left without pheromones are removed from the list by moving the last
+	 * edge of the list in their place.
+	 * </p>
+	 *
+	 * <p>
+	 * By default every edge is read with {@link #getAdjacentLevel(int, int)} and written with
+	 * {@link #setLevel(int, int, double)}, so the stores that can reach the levels by adjacency slot override it.
+	 * </p>
+	 *
+	 * @param graph        the weighted graph of the store
+	 * @param startNodes   the start node of every edge
+	 * @param slots        the adjacency slot of every edge from its start node
+	 * @param reverseSlots the adjacency slot of every edge from its end node
+	 * @param count        the number of edges
+	 * @param rho          the value of the pheromone level that evaporates
+	 * @param choiceInfo   the choice information refreshed with the levels, or {@code null}
+	 * @return the number of edges that still have pheromones, now first in the list
+	 */
+	default int evaporate(IWeightedGraph graph, int[] startNodes, int[] slots, int[] reverseSlots, int count, double rho,
+			ChoiceInfo choiceInfo) {
+		int i = 0;
+		while (i < count) {
+			int startNode = startNodes[i];
+			int index = slots[i] - graph.getAdjacencyOffset(startNode);
+			double level = Math.max(0, getAdjacentLevel(startNode, index) - rho);
+			setLevel(startNode, graph.getAdjacentNode(startNode, index), level);
+			if (choiceInfo != null)
+				choiceInfo.update(startNode, slots[i], reverseSlots[i], level);
+			if (level > 0) {
+				i++;
+			}
+			else {
+				// Move the last edge in place of the edge without pheromones
+				count--;
+				startNodes[i] = startNodes[count];
+				slots[i] = slots[count];
+				reverseSlots[i] = reverseSlots[count];
+			}
+		}
+		return count;
+	}
+}
@@ -0,0 +1,29 @@
+package ao;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The SelectionStrategy interface represents the way an ant draws its next node among the unvisited adjacent nodes
+ * of its current node, each one with a probability proportional to the cached choice information of its edge.
+ *
+ * @see ChoiceInfo
+ * @see LinearSelection
+ * @see FenwickSelection
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public interface SelectionStrategy {
+
+	/**
+	 * Draws one of the unvisited adjacent nodes of a node.
+	 *
+	 * @param ant        the ant to move
+	 * @param node       the current node of the ant
+	 * @param choiceInfo the choice information of the edges
+	 * @param random     the random generator of the draw
+	 * @return the position of the drawn node in the neighbourhood of the node, or -1 if all the adjacent nodes were visited
+	 */
+	int select(IAnt ant, int node, ChoiceInfo choiceInfo, RandomGenerator random);
+}
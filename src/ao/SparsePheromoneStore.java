@@ -0,0 +1,174 @@
+package ao;
+
+import graph.IWeightedGraph;
+
+/**
+ * The {@code SparsePheromoneStore} class stores the pheromone levels of the edges that have pheromones in a hash
+ * table with open addressing, keyed by the pair of nodes of every edge.
+ * <p>
+ * The memory grows with the number of edges with pheromones, not with the number of nodes or edges of the graph,
+ * and nothing is indexed by the adjacency of the graph, so it suits graphs too large for the other stores, such as
+ * complete graphs of more than 46340 nodes. Both directions of an edge share an entry, and an edge whose level is
+ * set to 0 leaves the table. Every access hashes the pair of nodes, so it is slower than the other stores.
+ * </p>
+ *
+ * @see PheromoneStore
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class SparsePheromoneStore implements PheromoneStore {
+
+	private static final int INITIAL_CAPACITY = 1 << 10;
+
+	private IWeightedGraph graph;
+	// Key of every entry, the smaller node in the high half and the larger in the low half, 0 for an empty entry
+	private long[] keys;
+	private double[] levels;
+	private int mask;
+	private int size;
+
+	/**
+	 * Constructs a SparsePheromoneStore for the specified graph, with every level at 0.
+	 *
+	 * @param graph the weighted graph
+	 */
+	public SparsePheromoneStore(IWeightedGraph graph) {
+		this.graph = graph;
+		this.keys = new long[INITIAL_CAPACITY];
+		this.levels = new double[INITIAL_CAPACITY];
+		this.mask = INITIAL_CAPACITY - 1;
+	}
+
+	/**
+	 * Gets the pheromone level of an edge.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @return the pheromone level of the edge
+	 */
+	public double getLevel(int startNode, int endNode) {
+		long key = key(startNode, endNode);
+		for (int slot = slot(key); keys[slot] != 0; slot = (slot + 1) & mask) {
+			if (keys[slot] == key)
+				return levels[slot];
+		}
+		return 0;
+	}
+
+	/**
+	 * Gets the pheromone level of the edge between a node and one of its adjacent nodes.
+	 *
+	 * @param node  the node
+	 * @param index the position of the adjacent node
+	 * @return the pheromone level of the edge
+	 */
+	public double getAdjacentLevel(int node, int index) {
+		return getLevel(node, graph.getAdjacentNode(node, index));
+	}
+
+	/**
+	 * Sets the pheromone level of an edge, in both directions.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @param level     the new pheromone level
+	 */
+	public void setLevel(int startNode, int endNode, double level) {
+		long key = key(startNode, endNode);
+		int slot = slot(key);
+		while (keys[slot] != 0 && keys[slot] != key)
+			slot = (slot + 1) & mask;
+
+		if (keys[slot] != 0) {
+			if (level != 0)
+				levels[slot] = level;
+			else
+				remove(slot);
+			return;
+		}
+		if (level == 0)
+			return;
+		keys[slot] = key;
+		levels[slot] = level;
+		if (++size > keys.length / 2)
+			resize(keys.length * 2);
+	}
+
+	/**
+	 * Gets the number of edges with pheromones.
+	 *
+	 * @return the number of edges with pheromones
+	 */
+	public int getNumEdges() {
+		return size;
+	}
+
+	/**
+	 * Removes an entry, moving back the entries of the same run that would no longer be found.
+	 *
+	 * @param slot the slot of the entry
+	 */
+	private void remove(int slot) {
+		int hole = slot;
+		for (int next = (hole + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+			int home = slot(keys[next]);
+			// The entry can fill the hole when its home is not after the hole, cyclically
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				keys[hole] = keys[next];
+				levels[hole] = levels[next];
+				hole = next;
+			}
+		}
+		keys[hole] = 0;
+		levels[hole] = 0;
+		size--;
+	}
+
+	/**
+	 * Moves the entries to a table of the specified capacity.
+	 *
+	 * @param capacity the new capacity, a power of 2
+	 */
+	private void resize(int capacity) {
+		long[] oldKeys = keys;
+		double[] oldLevels = levels;
+		keys = new long[capacity];
+		levels = new double[capacity];
+		mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] == 0)
+				continue;
+			int slot = slot(oldKeys[i]);
+			while (keys[slot] != 0)
+				slot = (slot + 1) & mask;
+			keys[slot] = oldKeys[i];
+			levels[slot] = oldLevels[i];
+		}
+	}
+
+	/**
+	 * Gets the key of an edge, the same in both directions. It is never 0, since the nodes start at 1.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @return the key of the edge
+	 */
+	private static long key(int startNode, int endNode) {
+		int min = Math.min(startNode, endNode);
+		int max = Math.max(startNode, endNode);
+		return ((long) min << 32) | max;
+	}
+
+	/**
+	 * Gets the home slot of a key, mixing its bits so that the edges of a node spread over the table.
+	 *
+	 * @param key the key of an edge
+	 * @return the home slot of the key
+	 */
+	private int slot(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+}
@@ -0,0 +1,132 @@
+package ao;
+
+import graph.IWeightedGraph;
+
+/**
+ * The {@code TriangularPheromoneStore} class stores the pheromone levels of a symmetric graph in the packed upper
+ * triangle of the matrix, with one entry per pair of distinct nodes.
+ * <p>
+ * Since the levels are symmetric, both directions of an edge share the same entry: it takes half the memory of
+ * a square matrix and every update writes a single entry. The entries of the pair {@code (i, j)}, with
+ * {@code i < j}, are stored row after row at position {@code (i-1)*(2n-i)/2 + (j-i-1)}.
+ * </p>
+ * <p>
+ * The levels are doubles by default, and can optionally be kept in single precision, which halves the memory
+ * again but changes the results of a simulation. The levels are computed in double precision and only rounded to
+ * a float when they are stored, which keeps 24 significant bits. Once a level is above about {@code 2^24*rho}, its
+ * float spacing exceeds {@code rho}, and rounding to the nearest float would lose the evaporation altogether, so a
+ * change that rounds back to the stored float moves it by one spacing instead: such a level still evaporates at
+ * every evaporation, but by more than {@code rho}.
+ * </p>
+ *
+ * @see PheromoneStore
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class TriangularPheromoneStore implements PheromoneStore {
+
+	private IWeightedGraph graph;
+	private int nodes;
+	private double[] levels;
+	private float[] floatLevels;
+
+	/**
+	 * Constructs a TriangularPheromoneStore for the specified graph with double precision levels, all at 0.
+	 *
+	 * @param graph the weighted graph
+	 * @throws IllegalArgumentException if the triangle of the graph does not fit in an array
+	 */
+	public TriangularPheromoneStore(IWeightedGraph graph) {
+		this(graph, false);
+	}
+
+	/**
+	 * Constructs a TriangularPheromoneStore for the specified graph, with every level at 0.
+	 *
+	 * @param graph           the weighted graph
+	 * @param singlePrecision {@code true} to keep the levels as floats, {@code false} to keep them as doubles
+	 * @throws IllegalArgumentException if the triangle of the graph does not fit in an array
+	 */
+	public TriangularPheromoneStore(IWeightedGraph graph, boolean singlePrecision) {
+		this.graph = graph;
+		this.nodes = graph.getNumNodes();
+		long size = (long) nodes * (nodes - 1) / 2;
+		if (size > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException("The graph has too many nodes for a triangular pheromone store");
+		if (singlePrecision)
+			this.floatLevels = new float[(int) size];
+		else
+			this.levels = new double[(int) size];
+	}
+
+	/**
+	 * Checks if the levels are kept in single precision.
+	 *
+	 * @return {@code true} if the levels are floats, {@code false} if they are doubles
+	 */
+	public boolean isSinglePrecision() {
+		return floatLevels != null;
+	}
+
+	/**
+	 * Gets the pheromone level of an edge.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @return the pheromone level of the edge, or 0 if both nodes are the same
+	 */
+	public double getLevel(int startNode, int endNode) {
+		if (startNode == endNode)
+			return 0;
+		int position = position(startNode, endNode);
+		return (levels != null) ? levels[position] : floatLevels[position];
+	}
+
+	/**
+	 * Gets the pheromone level of the edge between a node and one of its adjacent nodes.
+	 *
+	 * @param node  the node
+	 * @param index the position of the adjacent node
+	 * @return the pheromone level of the edge
+	 */
+	public double getAdjacentLevel(int node, int index) {
+		return getLevel(node, graph.getAdjacentNode(node, index));
+	}
+
+	/**
+	 * Sets the pheromone level of an edge, which is shared by both directions. In single precision, the level is
+	 * rounded to the nearest float, or to the next float towards it when that would leave the stored level unchanged.
+	 *
+	 * @param startNode the start node
+	 * @param endNode   the end node
+	 * @param level     the new pheromone level
+	 */
+	public void setLevel(int startNode, int endNode, double level) {
+		int position = position(startNode, endNode);
+		if (levels != null) {
+			levels[position] = level;
+			return;
+		}
+		float stored = floatLevels[position];
+		float rounded = (float) level;
+		// A change smaller than half the float spacing of a large level would be lost
+		if (rounded == stored && level != stored)
+			rounded = (level < stored) ? Math.nextDown(stored) : Math.nextUp(stored);
+		floatLevels[position] = rounded;
+	}
+
+	/**
+	 * Returns the position of the entry of a pair of distinct nodes in the packed triangle.
+	 *
+	 * @param startNode one node
+	 * @param endNode   the other node
+	 * @return the position of the entry
+	 */
+	private int position(int startNode, int endNode) {
+		int i = Math.min(startNode, endNode);
+		int j = Math.max(startNode, endNode);
+		return (int) ((long) (i - 1) * (2 * nodes - i) / 2) + (j - i - 1);
+	}
+}
@@ -1,6 +1,7 @@
 package distribution;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * The {@code ExponentialDistributionStrategy} class implements the {@link DistributionStrategy} interface
@@ -10,6 +11,9 @@ import java.util.Random;
  * The exponential distribution strategy generates random values based on the exponential distribution logic.
  * The generated random values follow the exponential distribution pattern determined by the lambda parameter.
  * 
+ * The values are drawn from a random generator given at construction, so that a seeded generator gives
+ * reproducible values. A generator must not be shared between threads.
+ * 
  * @see DistributionStrategy
  * @author Diogo Miranda
  * @author João Santos
@@ -18,14 +22,27 @@ import java.util.Random;
  */
 public class ExponentialDistributionStrategy implements DistributionStrategy {
 	private double lambda;
+	private RandomGenerator random;
 
 	/**
-	 * Constructs a new {@code ExponentialDistributionStrategy} object with the specified lambda parameter.
+	 * Constructs a new {@code ExponentialDistributionStrategy} object with the specified lambda parameter
+	 * and an unseeded random generator.
 	 *
 	 * @param lambda the lambda parameter for the exponential distribution. It is the mean of the exponential distribution.
 	 */
 	public ExponentialDistributionStrategy(double lambda) {
+		this(lambda, new SplittableRandom());
+	}
+
+	/**
+	 * Constructs a new {@code ExponentialDistributionStrategy} object with the specified lambda parameter and random generator.
+	 *
+	 * @param lambda the lambda parameter for the exponential distribution. It is the mean of the exponential distribution.
+	 * @param random the random generator of the values
+	 */
+	public ExponentialDistributionStrategy(double lambda, RandomGenerator random) {
 		this.lambda = lambda;
+		this.random = random;
 	}
 
 	/**
@@ -36,7 +53,17 @@ public class ExponentialDistributionStrategy implements DistributionStrategy {
 	 * @return a randomly generated value from the exponential distribution
 	 */
 	public double generateRandomValue() {
-		Random random = new Random();
+		return sample(random, lambda);
+	}
+
+	/**
+	 * Draws a value from an exponential distribution with the given mean.
+	 *
+	 * @param random the random generator of the value
+	 * @param lambda the mean of the exponential distribution
+	 * @return a randomly generated value from the exponential distribution
+	 */
+	public static double sample(RandomGenerator random, double lambda) {
 		double next = random.nextDouble();
 		return -Math.log(1.0 - next) * lambda;
 	}
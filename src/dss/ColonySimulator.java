@@ -1,9 +1,12 @@
 package dss;
 
+import java.util.Arrays;
+import java.util.SplittableRandom;
 import ao.IAnt;
 import ao.IColony;
 import distribution.*;
 import eventqueue.*;
+import graph.IWeightedGraph;
 
 /**
  * The ColonySimulator class is responsible for simulating the behavior of a colony of ants
@@ -17,6 +20,13 @@ import eventqueue.*;
  * 
  * The simulation behavior is defined by the parameters passed in the constructor.
  * 
+ * All the state of a simulation belongs to its instance, so several simulations can run
+ * concurrently in the same JVM as long as each one has its own graph, colony and queue.
+ * 
+ * Every evaporation process gets its own random stream, split from the random generator of the simulator,
+ * so a seeded simulation is reproducible. Alternatively, the pheromones of all the edges can be evaporated
+ * by a single recurring {@link EvaporationSweepEvent}.
+ * 
  * @author Diogo Miranda
  * @author João Santos
  * @author Tomás Maia
@@ -24,19 +34,25 @@ import eventqueue.*;
  */
 public class ColonySimulator implements Observer {
 
-	private static double TheAlpha;
-	private static double TheBeta;
-	private static double TheDelta;
-	private static double TheEta;
-	private static double TheRho;
-	private static double TheGamma;
-	private static IColony TheColony;
-	private static EventQueue TheQueue;
-
-	private static double TheSimulationTime;
-	private static double currentTime = 0;
+	private static final boolean PRINT_BACKTRACKING = Boolean.getBoolean("aco.backtracking");
+
+	private double TheAlpha;
+	private double TheBeta;
+	private double TheDelta;
+	private double TheEta;
+	private double TheRho;
+	private double TheGamma;
+	private IColony TheColony;
+	private EventQueue TheQueue;
+
+	private double TheSimulationTime;
+	private double currentTime = 0;
 	private Event currentEvent;
-	private static DistributionStrategy TheDistributionStrategy;
+	private DistributionStrategy TheDistributionStrategy;
+	private EventCounter TheCounter = new EventCounter();
+	private SplittableRandom TheRandom;
+	private Event[] TheBatch = new Event[0];
+	private EvaporationSweepEvent TheSweep;
 
 	private int nNotification = 1;
 
@@ -55,6 +71,25 @@ public class ColonySimulator implements Observer {
 	 * @param distribution   the distribution strategy for generating random values
 	 */
 	public ColonySimulator(double alpha, double beta, double delta, double eta, double rho, double gamma, double simulationTime, IColony colony, EventQueue queue, DistributionStrategy distribution) { // IPEC pec
+		this(alpha, beta, delta, eta, rho, gamma, simulationTime, colony, queue, distribution, new SplittableRandom());
+	}
+
+	/**
+	 * Constructs a ColonySimulator object with the specified parameters and random generator.
+	 *
+	 * @param alpha          the value of alpha for the simulation (concerning the move event)
+	 * @param beta           the value of beta for the simulation (concerning the move event)
+	 * @param delta          the value of delta for the simulation (concerning the move event)
+	 * @param eta            the value of eta for the simulation (concerning the pheromone evaporation event)
+	 * @param rho            the value of rho for the simulation (concerning the pheromone evaporation event)
+	 * @param gamma          the value of gamma for the simulation (concerning pheromone level)
+	 * @param simulationTime the total simulation time
+	 * @param colony         the colony
+	 * @param queue          the event queue for Discrete Stochastic Simulation
+	 * @param distribution   the distribution strategy for generating random values
+	 * @param random         the generator the random streams of the evaporation processes are split from
+	 */
+	public ColonySimulator(double alpha, double beta, double delta, double eta, double rho, double gamma, double simulationTime, IColony colony, EventQueue queue, DistributionStrategy distribution, SplittableRandom random) {
 		TheAlpha = alpha;
 		TheBeta = beta;
 		TheDelta = delta; // Mean value parameter
@@ -65,6 +100,7 @@ public class ColonySimulator implements Observer {
 		TheColony = colony;
 		TheQueue = queue;
 		TheDistributionStrategy = distribution;
+		TheRandom = random;
 	}
 
     /**
@@ -76,13 +112,15 @@ public class ColonySimulator implements Observer {
      */
 	public void update(int startNode, int endNode) {
 
-		EvaporationEvent evaporationEvent = new EvaporationEvent(startNode, endNode, TheEta, TheRho, currentTime, TheColony, TheQueue);
+		if (TheSweep != null) {
+			TheSweep.addEdge(startNode, endNode);
+			return;
+		}
 
-		// Create the RandomValueGenerator with the selected distribution strategy
-		RandomValueGenerator randomValueGenerator = new RandomValueGenerator(TheDistributionStrategy);
+		EvaporationEvent evaporationEvent = new EvaporationEvent(startNode, endNode, TheEta, TheRho, currentTime, TheColony, TheQueue, TheCounter, TheRandom.split());
 
-		// Generate random values using the selected distribution strategy
-		double randomValue = randomValueGenerator.generateRandomValue();
+		// Draw the delay with the selected distribution strategy, without a generator per edge
+		double randomValue = TheDistributionStrategy.generateRandomValue();
 
 		evaporationEvent.increaseTimeStamp(randomValue);  
 
@@ -90,6 +128,64 @@ public class ColonySimulator implements Observer {
 
 	}
 
+    /**
+     * Receives a batch of updates from the observed events, such as the edges activated by the deposit of a cycle.
+     * It creates the evaporation events of all of them and adds them to the event queue at once.
+     *
+     * @param startNodes the start nodes of the observed events
+     * @param endNodes   the end nodes of the observed events
+     * @param count      the number of events
+     */
+	public void update(int[] startNodes, int[] endNodes, int count) {
+		if (TheSweep != null) {
+			for (int i = 0; i < count; i++)
+				TheSweep.addEdge(startNodes[i], endNodes[i]);
+			return;
+		}
+		if (TheBatch.length < count)
+			TheBatch = new Event[count];
+
+		for (int i = 0; i < count; i++) {
+			EvaporationEvent evaporationEvent = new EvaporationEvent(startNodes[i], endNodes[i], TheEta, TheRho, currentTime, TheColony, TheQueue, TheCounter, TheRandom.split());
+			evaporationEvent.increaseTimeStamp(TheDistributionStrategy.generateRandomValue());
+			TheBatch[i] = evaporationEvent;
+		}
+		TheQueue.addEvents(TheBatch, count);
+		// Drop the references so that the events can be collected once they are processed
+		Arrays.fill(TheBatch, 0, count, null);
+	}
+
+	/**
+	 * Evaporates the pheromones of all the edges with a single event recurring every eta,
+	 * instead of an evaporation event per edge. It must be called before the simulation starts.
+	 *
+	 * @param graph the graph of the colony, whose adjacency slots index the swept edges
+	 * @throws IllegalArgumentException if eta is not positive
+	 */
+	public void useEvaporationSweep(IWeightedGraph graph) {
+		if (!(TheEta > 0))
+			throw new IllegalArgumentException("The evaporation sweep needs a positive eta");
+		TheSweep = new EvaporationSweepEvent(TheEta, TheRho, currentTime + TheEta, TheColony, graph, TheQueue, TheCounter);
+	}
+
+	/**
+	 * Gets the current time of the simulation, the timestamp of the event being simulated.
+	 *
+	 * @return the current time
+	 */
+	public double getCurrentTime() {
+		return currentTime;
+	}
+
+	/**
+	 * Gets the counter of the events of this simulation.
+	 *
+	 * @return the event counter
+	 */
+	public EventCounter getEventCounter() {
+		return TheCounter;
+	}
+
 	/**
 	 * Simulates the behavior of the colony using an Ant Optimization Algorithm.
 	 * The simulation progresses through discrete time steps until the specified simulation time is reached.
@@ -104,7 +200,8 @@ public class ColonySimulator implements Observer {
 	 *    - Update the current time to the timestamp of the current event.
 	 *    - Simulate the current event.
 	 *    - Check if it is time for a periodic notification and add a notification event if necessary.
-	 * 4. Once the simulation time is reached, the simulation ends.
+	 * 4. Once the simulation time is reached, the simulation ends. With the {@code aco.backtracking} system
+	 *    property on, the backtracking of the ants is then printed.
 	 * 
 	 * Note: The behavior of ants, pheromone evaporation, and notifications are determined by the
 	 * parameters and configurations provided during the initialization of the ColonySimulator object.
@@ -118,12 +215,16 @@ public class ColonySimulator implements Observer {
 		for (IAnt ant : TheColony.getAnts()) {
 			// Generate random values using the selected distribution strategy
 			double randomValue = randomValueGenerator.generateRandomValue();
-			Event moveEvent = new MoveEvent(currentTime + randomValue, ant, TheGamma, TheAlpha, TheBeta, TheDelta, TheSimulationTime, TheQueue);
+			Event moveEvent = new MoveEvent(currentTime + randomValue, ant, TheGamma, TheAlpha, TheBeta, TheDelta, TheSimulationTime, TheQueue, TheCounter);
 			TheQueue.addEvent(moveEvent);
 		}
 
+		// Add the first evaporation sweep
+		if (TheSweep != null)
+			TheQueue.addEvent(TheSweep);
+
 		// Add First Notification Event
-		Event notification = new NotificationEvent(TheSimulationTime/20, TheColony);
+		Event notification = new NotificationEvent(TheSimulationTime/20, TheColony, TheCounter);
 		TheQueue.addEvent(notification);
 		nNotification++;
 
@@ -135,11 +236,18 @@ public class ColonySimulator implements Observer {
 			// Check Notification Time
 			if((currentTime == (nNotification-1)*TheSimulationTime/20)) {
 				// Add Next Notification Event
-				notification = new NotificationEvent(nNotification*TheSimulationTime/20, TheColony);
+				notification = new NotificationEvent(nNotification*TheSimulationTime/20, TheColony, TheCounter);
 				TheQueue.addEvent(notification);
 				nNotification++;
 			}  	           
 		}
+
+		// Print the moves undone by the ants backtracking
+		if (PRINT_BACKTRACKING) {
+			System.out.println("Backtracking:");
+			System.out.println("\t\tNumber of backtracks: \t\t" + TheColony.getNumBacktracks());
+			System.out.println("\t\tNumber of wasted moves: \t" + TheColony.getNumWastedMoves());
+		}
 	}
 
 }
\ No newline at end of file
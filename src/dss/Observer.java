@@ -13,4 +13,17 @@ public interface Observer {
      * @param endNode   the end node of the observed event
      */
     void update(int startNode, int endNode);
+
+    /**
+     * Updates the observer with a batch of events, each one with a start node and an end node.
+     * By default, the observer is updated with every event in turn.
+     *
+     * @param startNodes the start nodes of the observed events
+     * @param endNodes   the end nodes of the observed events
+     * @param count      the number of events
+     */
+    default void update(int[] startNodes, int[] endNodes, int count) {
+        for (int i = 0; i < count; i++)
+            update(startNodes[i], endNodes[i]);
+    }
 }
\ No newline at end of file
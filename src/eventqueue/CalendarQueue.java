@@ -0,0 +1,298 @@
+package eventqueue;
+
+/**
+ * The {@code CalendarQueue} class is a priority event queue with amortised constant time insertion and removal,
+ * as described by R. Brown, "Calendar queues", Communications of the ACM 31(10), 1988.
+ * <p>
+ * Like the days of a desk calendar, the time is split in buckets of a fixed width, and a bucket holds the events
+ * of every year that fall on its day, sorted by timestamp. The next event is found by walking the days from the
+ * current one, taking the first event that belongs to the current year. When the event times follow distributions
+ * with known means, as the exponential times of the simulation do, most buckets hold a few events and both
+ * operations take constant time.
+ * </p>
+ * <p>
+ * The number of buckets is doubled when the queue holds more than two events per bucket, and halved when it
+ * holds less than one event every two buckets. On every resize the width of the buckets is set to three times the
+ * average separation of the next events, leaving out the outliers, so the calendar adapts to the event times.
+ * Since the times can drift while the number of events stays the same, the width is also set again when the
+ * operations of the last window walk too many entries and buckets on average.
+ * </p>
+ * <p>
+ * Events with the same timestamp are removed in the order they were added.
+ * The timestamp of an event is read when the event is added, so it must not change while the event is queued.
+ * </p>
+ *
+ * @see EventQueue
+ * @see PEC
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class CalendarQueue implements EventQueue {
+
+	private static final int MIN_BUCKETS = 16;
+	private static final int MAX_BUCKETS = 1 << 30;
+	private static final int SAMPLE_SIZE = 25;
+	private static final int MAX_AVERAGE_COST = 4;
+
+	/**
+	 * An entry of a bucket, holding an event, its timestamp and its day since the origin of time.
+	 */
+	private static class Entry {
+		private Event event;
+		private double timestamp;
+		private long day;
+		private Entry next;
+	}
+
+	private Entry[] buckets;
+	private int mask;
+	private double width;
+	private int size;
+	// Day of the next event: no event falls on an earlier day
+	private long currentDay;
+	private Entry freeEntries;
+	// Entries and buckets walked by the operations since the last resize
+	private long cost;
+	private int operations;
+
+	/**
+	 * Constructs a new, empty CalendarQueue with buckets of unit width.
+	 */
+	public CalendarQueue() {
+		this(1.0);
+	}
+
+	/**
+	 * Constructs a new, empty CalendarQueue with buckets of the specified initial width.
+	 *
+	 * @param width the initial width of the buckets, such as the mean time between events
+	 * @throws IllegalArgumentException if the width is not positive
+	 */
+	public CalendarQueue(double width) {
+		if (!(width > 0) || Double.isInfinite(width))
+			throw new IllegalArgumentException("The width of the buckets must be positive");
+		this.width = width;
+		this.buckets = new Entry[MIN_BUCKETS];
+		this.mask = MIN_BUCKETS - 1;
+	}
+
+	/**
+	 * Adds an event to the event queue.
+	 *
+	 * @param event the event to be added
+	 */
+	@Override
+	public void addEvent(Event event) {
+		Entry entry = freeEntries;
+		if (entry != null)
+			freeEntries = entry.next;
+		else
+			entry = new Entry();
+		entry.event = event;
+		entry.timestamp = event.getTimestamp();
+		insert(entry, false);
+		size++;
+		if (size > 2 * buckets.length && buckets.length < MAX_BUCKETS)
+			resize(buckets.length * 2);
+		else
+			checkCost();
+	}
+
+	/**
+	 * Removes and returns the next event from the event queue.
+	 *
+	 * @return the next event in the queue, or {@code null} if the queue is empty
+	 */
+	@Override
+	public Event getNextEvent() {
+		if (size == 0)
+			return null;
+		Entry entry = removeFirst();
+		size--;
+		Event event = entry.event;
+		entry.event = null;
+		entry.next = freeEntries;
+		freeEntries = entry;
+		if (size < buckets.length / 2 && buckets.length > MIN_BUCKETS)
+			resize(buckets.length / 2);
+		else
+			checkCost();
+		return event;
+	}
+
+	/**
+	 * Checks if the event queue is empty.
+	 *
+	 * @return true if the event queue is empty, false otherwise
+	 */
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Clears the event queue.
+	 */
+	@Override
+	public void clear() {
+		buckets = new Entry[MIN_BUCKETS];
+		mask = MIN_BUCKETS - 1;
+		size = 0;
+		currentDay = 0;
+		freeEntries = null;
+	}
+
+	/**
+	 * Gets the number of buckets of the calendar.
+	 *
+	 * @return the number of buckets
+	 */
+	public int getNumBuckets() {
+		return buckets.length;
+	}
+
+	/**
+	 * Gets the width of the buckets of the calendar.
+	 *
+	 * @return the width of the buckets
+	 */
+	public double getBucketWidth() {
+		return width;
+	}
+
+	/**
+	 * Inserts an entry in its bucket, sorted by timestamp.
+	 *
+	 * @param entry       the entry
+	 * @param beforeEqual {@code true} to insert the entry before the entries with the same timestamp,
+	 *                    {@code false} to insert it after them
+	 */
+	private void insert(Entry entry, boolean beforeEqual) {
+		entry.day = (long) Math.floor(entry.timestamp / width);
+		if (size == 0 || entry.day < currentDay)
+			currentDay = entry.day;
+		int bucket = (int) (entry.day & mask);
+		Entry previous = null;
+		Entry current = buckets[bucket];
+		while (current != null && (current.timestamp < entry.timestamp || (!beforeEqual && current.timestamp == entry.timestamp))) {
+			previous = current;
+			current = current.next;
+			cost++;
+		}
+		entry.next = current;
+		if (previous == null)
+			buckets[bucket] = entry;
+		else
+			previous.next = entry;
+	}
+
+	/**
+	 * Removes the entry of the next event from its bucket. The queue must not be empty.
+	 *
+	 * @return the entry of the next event
+	 */
+	private Entry removeFirst() {
+		// Walk the days of the current year
+		for (int i = 0; i < buckets.length; i++) {
+			int bucket = (int) (currentDay & mask);
+			Entry first = buckets[bucket];
+			if (first != null && first.day == currentDay) {
+				buckets[bucket] = first.next;
+				return first;
+			}
+			currentDay++;
+			cost++;
+		}
+		// No event in a whole year, jump to the day of the earliest event
+		Entry earliest = null;
+		for (Entry first : buckets) {
+			if (first != null && (earliest == null || first.timestamp < earliest.timestamp))
+				earliest = first;
+		}
+		cost += buckets.length;
+		currentDay = earliest.day;
+		int bucket = (int) (currentDay & mask);
+		buckets[bucket] = earliest.next;
+		return earliest;
+	}
+
+	/**
+	 * Changes the number of buckets of the calendar, and sets the width of the buckets from the next events.
+	 *
+	 * @param numBuckets the new number of buckets, a power of 2
+	 */
+	private void resize(int numBuckets) {
+		double newWidth = sampleWidth();
+
+		Entry[] oldBuckets = buckets;
+		buckets = new Entry[numBuckets];
+		mask = numBuckets - 1;
+		width = newWidth;
+		int count = size;
+		size = 0;
+		for (Entry first : oldBuckets) {
+			Entry entry = first;
+			while (entry != null) {
+				Entry next = entry.next;
+				insert(entry, false);
+				size++;
+				entry = next;
+			}
+		}
+		size = count;
+		cost = 0;
+		operations = 0;
+	}
+
+	/**
+	 * Sets the width of the buckets again, keeping their number, when the operations of the last window,
+	 * as long as the calendar, walked too many entries and buckets on average.
+	 */
+	private void checkCost() {
+		if (++operations < buckets.length)
+			return;
+		if (cost > (long) MAX_AVERAGE_COST * operations)
+			resize(buckets.length);
+		cost = 0;
+		operations = 0;
+	}
+
+	/**
+	 * Estimates the width of the buckets as three times the average separation of the next events,
+	 * leaving out the separations larger than twice the average.
+	 *
+	 * @return the estimated width, or the current width if the events do not have distinct timestamps
+	 */
+	private double sampleWidth() {
+		int count = Math.min(size, SAMPLE_SIZE);
+		if (count < 2)
+			return width;
+
+		// Take the next events out of the queue and put them back
+		Entry[] sample = new Entry[count];
+		for (int i = 0; i < count; i++) {
+			sample[i] = removeFirst();
+			size--;
+		}
+		// In reverse order, ahead of the events with the same timestamp, which were added after them
+		for (int i = count - 1; i >= 0; i--) {
+			insert(sample[i], true);
+			size++;
+		}
+
+		double average = (sample[count-1].timestamp - sample[0].timestamp) / (count - 1);
+		double sum = 0;
+		int numSeparations = 0;
+		for (int i = 1; i < count; i++) {
+			double separation = sample[i].timestamp - sample[i-1].timestamp;
+			if (separation <= 2 * average) {
+				sum += separation;
+				numSeparations++;
+			}
+		}
+		double newWidth = (numSeparations > 0) ? 3 * sum / numSeparations : 0;
+		return (newWidth > 0 && !Double.isInfinite(newWidth)) ? newWidth : width;
+	}
+}
@@ -1,5 +1,6 @@
 package eventqueue;
 
+import java.util.random.RandomGenerator;
 import ao.IColony;
 import distribution.*;
 
@@ -10,7 +11,8 @@ import distribution.*;
  * Each evaporation event is associated with a specific edge, and its timestamp represents the time of the evaporation.
  * The evaporation event triggers the corresponding actions for pheromone evaporation.
  * 
- * The number of occurrences of evaporation events is tracked through the static variable 'ocurrences'.
+ * The number of occurrences of evaporation events is tracked by the {@link EventCounter} of the simulation.
+ * Every evaporation process draws the times between its evaporations from its own random stream.
  * 
  * @author Diogo Miranda
  * @author João Santos
@@ -24,11 +26,8 @@ public class EvaporationEvent extends Event {
 	private double rho;
 	private double eta;
 	private EventQueue queue;
-	/**
-	 * Counter for number of ocurrences 
-	 */
-	private static int ocurrences = 0;
-
+	private EventCounter counter;
+	private RandomGenerator random;
 
 	/**
 	 * Constructs a new EvaporationEvent object with the specified parameters.
@@ -40,8 +39,10 @@ public class EvaporationEvent extends Event {
 	 * @param timestamp the timestamp of the evaporation event
 	 * @param colony the colony instance
 	 * @param queue the event queue
+	 * @param counter the event counter of the simulation
+	 * @param random the random stream of the evaporation process
 	 */
-	public EvaporationEvent(int startNode, int endNode, double eta, double rho, double timestamp, IColony colony, EventQueue queue) {
+	public EvaporationEvent(int startNode, int endNode, double eta, double rho, double timestamp, IColony colony, EventQueue queue, EventCounter counter, RandomGenerator random) {
 		super(timestamp);     
 		this.startNode = startNode;
 		this.endNode = endNode;
@@ -49,15 +50,8 @@ public class EvaporationEvent extends Event {
 		this.eta = eta;
 		this.queue = queue;
 		this.colony = colony;
-	}
-
-	/**
-	 * Returns the number of occurrences of evaporation events.
-	 *
-	 * @return the number of occurrences
-	 */
-	static public int getOcurrences() {
-		return ocurrences;
+		this.counter = counter;
+		this.random = random;
 	}
 
 	/**
@@ -72,16 +66,10 @@ public class EvaporationEvent extends Event {
 		// Use updateLevel to decrease the level of pheromones on the edge
 		double value = 0;  	
 		value = colony.updateLevel(this.startNode, this.endNode, -rho);  	
-		ocurrences++; // Increment number of EvaporationEvente Occurrences
-
-		// Create an instance of the desired distribution strategy
-		DistributionStrategy distributionStrategy = new ExponentialDistributionStrategy(eta);
-
-		// Create the RandomValueGenerator with the selected distribution strategy
-		RandomValueGenerator randomValueGenerator = new RandomValueGenerator(distributionStrategy);
+		counter.incrementEvaporationEvents(); // Increment number of EvaporationEvente Occurrences
 
-		// Generate random values using the selected distribution strategy
-		double randomValue = randomValueGenerator.generateRandomValue();
+		// Draw the exponential time to the next evaporation from the stream of the process
+		double randomValue = ExponentialDistributionStrategy.sample(random, eta);
 
 		// Increase the timestamp of the event by the generated random exponential value
 		this.increaseTimeStamp(randomValue);  
@@ -0,0 +1,108 @@
+package eventqueue;
+
+import java.util.Arrays;
+import ao.IColony;
+import graph.IWeightedGraph;
+
+/**
+ * The {@code EvaporationSweepEvent} class represents a recurring event that evaporates the pheromones of all the
+ * active edges at once, instead of an {@link EvaporationEvent} per edge.
+ * <p>
+ * The edges with pheromones are kept in a compact list, added when their level becomes positive, as their start
+ * node and their adjacency slots in both directions (see {@link IWeightedGraph#getAdjacencyOffset(int)}), looked up
+ * once when the edge is added. Every {@code eta} units of time, the sweep hands the list to
+ * {@link IColony#evaporate(int[], int[], int[], int, double)}, which evaporates {@code rho} from each edge in a
+ * single pass over the pheromone store, refreshes the cached choice information in the same pass, and removes the
+ * edges whose level reached 0 by moving the last edge of the list in their place. On average an edge evaporates as
+ * often as with the events of each edge, but at the fixed times of the sweep instead of exponential times, and a
+ * single event is queued however many edges have pheromones.
+ * </p>
+ * <p>
+ * The adjacency of the graph must be indexed, so graphs whose adjacency cannot be indexed cannot be swept.
+ * </p>
+ * <p>
+ * Every evaporation of an edge is counted as an evaporation event by the {@link EventCounter} of the simulation.
+ * </p>
+ *
+ * @see EvaporationEvent
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class EvaporationSweepEvent extends Event {
+	private IColony colony;
+	private IWeightedGraph graph;
+	private double rho;
+	private double eta;
+	private EventQueue queue;
+	private EventCounter counter;
+
+	// Active edges, the first numEdges of each array
+	private int[] startNodes = new int[16];
+	private int[] slots = new int[16];
+	private int[] reverseSlots = new int[16];
+	private int numEdges;
+
+	/**
+	 * Constructs a new EvaporationSweepEvent object with the specified parameters and no active edges.
+	 *
+	 * @param eta the time between sweeps
+	 * @param rho the evaporation rate
+	 * @param timestamp the timestamp of the first sweep
+	 * @param colony the colony instance
+	 * @param graph the graph of the colony
+	 * @param queue the event queue
+	 * @param counter the event counter of the simulation
+	 */
+	public EvaporationSweepEvent(double eta, double rho, double timestamp, IColony colony, IWeightedGraph graph, EventQueue queue, EventCounter counter) {
+		super(timestamp);
+		this.rho = rho;
+		this.eta = eta;
+		this.queue = queue;
+		this.colony = colony;
+		this.graph = graph;
+		this.counter = counter;
+	}
+
+	/**
+	 * Adds an edge whose pheromone level became positive to the edges evaporated by the sweep.
+	 *
+	 * @param startNode the starting node of the edge
+	 * @param endNode the ending node of the edge
+	 */
+	public void addEdge(int startNode, int endNode) {
+		if (numEdges == startNodes.length) {
+			startNodes = Arrays.copyOf(startNodes, numEdges * 2);
+			slots = Arrays.copyOf(slots, numEdges * 2);
+			reverseSlots = Arrays.copyOf(reverseSlots, numEdges * 2);
+		}
+		startNodes[numEdges] = startNode;
+		slots[numEdges] = graph.getAdjacencyOffset(startNode) + graph.getAdjacentIndex(startNode, endNode);
+		reverseSlots[numEdges++] = graph.getAdjacencyOffset(endNode) + graph.getAdjacentIndex(endNode, startNode);
+	}
+
+	/**
+	 * Gets the number of edges evaporated by the sweep.
+	 *
+	 * @return the number of active edges
+	 */
+	public int getNumEdges() {
+		return numEdges;
+	}
+
+	/**
+	 * Performs the actions triggered by the sweep.
+	 * It evaporates the pheromones of every active edge, drops the edges without pheromones left,
+	 * and schedules the next sweep.
+	 */
+	@Override
+	public void simulateEvent() {
+		counter.addEvaporationEvents(numEdges);
+		numEdges = colony.evaporate(startNodes, slots, reverseSlots, numEdges, rho);
+
+		// The sweep recurs every eta
+		this.increaseTimeStamp(eta);
+		queue.addEvent(this);
+	}
+}
@@ -0,0 +1,79 @@
+package eventqueue;
+
+/**
+ * The {@code EventCounter} class counts the events of one simulation.
+ * It keeps the number of move events and evaporation events that have been simulated,
+ * and numbers the observations printed by the notification events.
+ *
+ * Every simulation has its own counter, so that simulations running in the same JVM
+ * do not share their statistics.
+ *
+ * @see MoveEvent
+ * @see EvaporationEvent
+ * @see NotificationEvent
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class EventCounter {
+	private int moveEvents = 0;
+	private int evaporationEvents = 0;
+	private int observations = 0;
+
+	/**
+	 * Constructs a new EventCounter object with all the counts at zero.
+	 */
+	public EventCounter() {
+	}
+
+	/**
+	 * Increments the number of move events.
+	 */
+	public void incrementMoveEvents() {
+		moveEvents++;
+	}
+
+	/**
+	 * Adds evaporation events, such as the evaporations of the edges of a sweep.
+	 *
+	 * @param count the number of evaporation events
+	 */
+	public void addEvaporationEvents(int count) {
+		evaporationEvents += count;
+	}
+
+	/**
+	 * Increments the number of evaporation events.
+	 */
+	public void incrementEvaporationEvents() {
+		evaporationEvents++;
+	}
+
+	/**
+	 * Returns the number of the next observation, starting at 1.
+	 *
+	 * @return the observation number
+	 */
+	public int nextObservationNumber() {
+		return ++observations;
+	}
+
+	/**
+	 * Returns the number of move events.
+	 *
+	 * @return the number of move events
+	 */
+	public int getMoveEvents() {
+		return moveEvents;
+	}
+
+	/**
+	 * Returns the number of evaporation events.
+	 *
+	 * @return the number of evaporation events
+	 */
+	public int getEvaporationEvents() {
+		return evaporationEvents;
+	}
+}
@@ -30,6 +30,18 @@ public interface EventQueue {
 	 */
 	void addEvent(Event event);
 
+	/**
+	 * Adds a batch of events to the event queue.
+	 * By default, the events are added one by one.
+	 *
+	 * @param events the array holding the events to be added
+	 * @param count  the number of events, from the start of the array
+	 */
+	default void addEvents(Event[] events, int count) {
+		for (int i = 0; i < count; i++)
+			addEvent(events[i]);
+	}
+
 	/**
 	 * Removes and returns the next event from the event queue.
 	 *
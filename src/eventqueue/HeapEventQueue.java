@@ -0,0 +1,183 @@
+package eventqueue;
+
+import java.util.Arrays;
+
+/**
+ * The {@code HeapEventQueue} class is a priority event queue kept in a 4-ary heap over parallel arrays.
+ * <p>
+ * The timestamps of the events are copied into a {@code double} array, next to the array of the events, so that
+ * sifting an event compares primitive values stored contiguously instead of calling {@link Event#compareTo(Event)}
+ * on objects scattered in the heap. With four children per node, the heap is half as deep as a binary heap and the
+ * children of a node share a cache line.
+ * </p>
+ * <p>
+ * The timestamp of an event is read when the event is added, so it must not change while the event is queued,
+ * as with any priority queue. A batch at least as large as the queue is added by rebuilding the heap in linear time.
+ * </p>
+ *
+ * @see EventQueue
+ * @see PEC
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class HeapEventQueue implements EventQueue {
+
+	private static final int ARITY = 4;
+
+	private double[] timestamps;
+	private Event[] events;
+	private int size;
+
+	/**
+	 * Constructs a new, empty HeapEventQueue.
+	 */
+	public HeapEventQueue() {
+		this(64);
+	}
+
+	/**
+	 * Constructs a new, empty HeapEventQueue with room for the specified number of events.
+	 *
+	 * @param capacity the initial number of events the queue can hold without growing
+	 */
+	public HeapEventQueue(int capacity) {
+		timestamps = new double[Math.max(capacity, 1)];
+		events = new Event[Math.max(capacity, 1)];
+	}
+
+	/**
+	 * Adds an event to the event queue.
+	 *
+	 * @param event the event to be added
+	 */
+	@Override
+	public void addEvent(Event event) {
+		ensureCapacity(size + 1);
+		siftUp(size++, event.getTimestamp(), event);
+	}
+
+	/**
+	 * Adds a batch of events to the event queue.
+	 *
+	 * @param events the array holding the events to be added
+	 * @param count  the number of events, from the start of the array
+	 */
+	@Override
+	public void addEvents(Event[] events, int count) {
+		ensureCapacity(size + count);
+		if (count < size) {
+			for (int i = 0; i < count; i++)
+				siftUp(size++, events[i].getTimestamp(), events[i]);
+			return;
+		}
+		for (int i = 0; i < count; i++) {
+			this.timestamps[size] = events[i].getTimestamp();
+			this.events[size++] = events[i];
+		}
+		// Sift down every parent, from the last one to the root
+		for (int i = (size - 2) / ARITY; i >= 0; i--)
+			siftDown(i, this.timestamps[i], this.events[i]);
+	}
+
+	/**
+	 * Removes and returns the next event from the event queue.
+	 *
+	 * @return the next event in the queue, or {@code null} if the queue is empty
+	 */
+	@Override
+	public Event getNextEvent() {
+		if (size == 0)
+			return null;
+		Event next = events[0];
+		size--;
+		double timestamp = timestamps[size];
+		Event last = events[size];
+		events[size] = null;
+		if (size > 0)
+			siftDown(0, timestamp, last);
+		return next;
+	}
+
+	/**
+	 * Checks if the event queue is empty.
+	 *
+	 * @return true if the event queue is empty, false otherwise
+	 */
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Clears the event queue.
+	 */
+	@Override
+	public void clear() {
+		Arrays.fill(events, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Moves an event up from a free position of the heap until its parent is not later than it.
+	 *
+	 * @param position  the free position
+	 * @param timestamp the timestamp of the event
+	 * @param event     the event
+	 */
+	private void siftUp(int position, double timestamp, Event event) {
+		while (position > 0) {
+			int parent = (position - 1) / ARITY;
+			if (timestamps[parent] <= timestamp)
+				break;
+			timestamps[position] = timestamps[parent];
+			events[position] = events[parent];
+			position = parent;
+		}
+		timestamps[position] = timestamp;
+		events[position] = event;
+	}
+
+	/**
+	 * Moves an event down from a free position of the heap until none of its children is earlier than it.
+	 *
+	 * @param position  the free position
+	 * @param timestamp the timestamp of the event
+	 * @param event     the event
+	 */
+	private void siftDown(int position, double timestamp, Event event) {
+		while (true) {
+			int first = position * ARITY + 1;
+			if (first >= size)
+				break;
+			// Earliest of the children
+			int child = first;
+			int end = Math.min(first + ARITY, size);
+			for (int i = first + 1; i < end; i++) {
+				if (timestamps[i] < timestamps[child])
+					child = i;
+			}
+			if (timestamps[child] >= timestamp)
+				break;
+			timestamps[position] = timestamps[child];
+			events[position] = events[child];
+			position = child;
+		}
+		timestamps[position] = timestamp;
+		events[position] = event;
+	}
+
+	/**
+	 * Grows the arrays so that they hold at least the given number of events.
+	 *
+	 * @param capacity the number of events
+	 */
+	private void ensureCapacity(int capacity) {
+		if (capacity > events.length) {
+			int length = Math.max(capacity, events.length * 2);
+			timestamps = Arrays.copyOf(timestamps, length);
+			events = Arrays.copyOf(events, length);
+		}
+	}
+}
@@ -17,8 +17,8 @@ import distribution.*;
  * obtained from the ant's move method.
  * </p>
  * <p>
- * The move event can occur multiple times, and the number of occurrences can
- * be obtained using the {@code getOccurrences} method.
+ * The move event can occur multiple times, and the number of occurrences is
+ * recorded in the {@link EventCounter} of the simulation.
  * </p>
  * <p>
  * This class is part of the pec package.
@@ -36,10 +36,7 @@ public class MoveEvent extends Event {
 	private double beta;
 	private double delta;
 	private double simulationTime;
-	/**
-	 * Counter for number of ocurrences of this type of events
-	 */
-	private static int ocurrences = 0;
+	private EventCounter counter;
 
 	/**
 	 * Constructs a new MoveEvent object with the specified timestamp and ant.
@@ -52,9 +49,10 @@ public class MoveEvent extends Event {
 	 * @param delta          the parameter concerning pheromone level
 	 * @param simulationTime the total simulation time
 	 * @param queue          the event queue for the move event
+	 * @param counter        the event counter of the simulation
 	 */
 	public MoveEvent(double timestamp, IAnt ant, double gamma, double alfa, 
-			double beta, double delta, double simulationTime, EventQueue queue) {
+			double beta, double delta, double simulationTime, EventQueue queue, EventCounter counter) {
 		super(timestamp);
 		this.ant = ant;
 		this.gamma = gamma;
@@ -63,15 +61,7 @@ public class MoveEvent extends Event {
 		this.delta = delta;
 		this.simulationTime = simulationTime;
 		this.queue = queue;
-	}
-
-	/**
-	 * Retrieves the number of occurrences of the MoveEvent.
-	 *
-	 * @return the number of occurrences of the MoveEvent
-	 */
-	static public int getOcurrences() {
-		return ocurrences;
+		this.counter = counter;
 	}
 
 	/**
@@ -95,16 +85,10 @@ public class MoveEvent extends Event {
 
 		// Code to execute the move event        
 		double increase = ant.move(gamma, alfa, beta, delta); // Execute move and obtain duration mean value
-		ocurrences++; // Increment number of MoveEvents Occurrences 
-
-		// Create an instance of the desired distribution strategy
-		DistributionStrategy distributionStrategy = new ExponentialDistributionStrategy(increase);
-
-		// Create the RandomValueGenerator with the selected distribution strategy
-		RandomValueGenerator randomValueGenerator = new RandomValueGenerator(distributionStrategy);
+		counter.incrementMoveEvents(); // Increment number of MoveEvents Occurrences
 
-		// Generate random values using the selected distribution strategy
-		double randomValue = randomValueGenerator.generateRandomValue();
+		// Draw the exponential duration of the move from the random stream of the ant
+		double randomValue = ExponentialDistributionStrategy.sample(ant.getRandom(), increase);
 
 		// Increase the timestamp of the event by the generated random exponential value
 		this.increaseTimeStamp(randomValue);  
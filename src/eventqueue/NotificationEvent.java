@@ -39,11 +39,6 @@ import ao.IColony;
  * @version 1.0
  */
 public class NotificationEvent extends Event {
-	/**
-	 * Counter for observation numbers
-	 */
-	private static int observationNumberCounter = 1;
-
 	/**
 	 * The observation number
 	 */
@@ -51,18 +46,20 @@ public class NotificationEvent extends Event {
 
 
 	private IColony colony;
+	private EventCounter counter;
 
 	/**
-	 * Constructs a new NotificationEvent object with the specified timestamp and colony.
+	 * Constructs a new NotificationEvent object with the specified timestamp, colony and event counter.
 	 *
 	 * @param timestamp the timestamp of the event
 	 * @param colony    the colony instance
+	 * @param counter   the event counter of the simulation
 	 */
-	public NotificationEvent(double timestamp, IColony colony) {
+	public NotificationEvent(double timestamp, IColony colony, EventCounter counter) {
 		super(timestamp);
 		this.colony = colony;
-		this.observationNumber = observationNumberCounter;
-		observationNumberCounter++;
+		this.counter = counter;
+		this.observationNumber = counter.nextObservationNumber();
 	}
 
 
@@ -77,8 +74,8 @@ public class NotificationEvent extends Event {
 	public void simulateEvent() {
 		System.out.println("Observation " + observationNumber + ":");
 		System.out.println("\t\tPresent instant: \t\t" + getTimestamp());
-		System.out.println("\t\tNumber of move events: \t\t" + MoveEvent.getOcurrences());
-		System.out.println("\t\tNumber of evaporation events:   " + EvaporationEvent.getOcurrences());
+		System.out.println("\t\tNumber of move events: \t\t" + counter.getMoveEvents());
+		System.out.println("\t\tNumber of evaporation events:   " + counter.getEvaporationEvents());
 
 		// Print top 5 cycles (or less if 5 cycles haven't been found)
 		System.out.print("\t\tTop candidate cycles: ");  
@@ -1,5 +1,6 @@
 package eventqueue;
 
+import java.util.ArrayList;
 import java.util.PriorityQueue;
 
 /**
@@ -11,6 +12,9 @@ import java.util.PriorityQueue;
  * In this implementation, the PEC class uses a PriorityQueue from the Java Collections framework to 
  * store the events. The events are automatically ordered based on their natural ordering, which is determined by the 
  * compareTo method implemented in the Event class.
+ * 
+ * A batch at least as large as the queue is added by building a new heap from all the events at once,
+ * in linear time, instead of sifting up every event.
  *
  * @see EventQueue
  * @see Event
@@ -39,6 +43,26 @@ public class PEC implements EventQueue {
 		eventQueue.add(event);
 	}
 
+	/**
+	 * Adds a batch of events to the event queue.
+	 *
+	 * @param events the array holding the events to be added
+	 * @param count  the number of events, from the start of the array
+	 */
+	@Override
+	public void addEvents(Event[] events, int count) {
+		if (count < eventQueue.size()) {
+			for (int i = 0; i < count; i++)
+				eventQueue.add(events[i]);
+			return;
+		}
+		ArrayList<Event> all = new ArrayList<>(eventQueue.size() + count);
+		all.addAll(eventQueue);
+		for (int i = 0; i < count; i++)
+			all.add(events[i]);
+		eventQueue = new PriorityQueue<>(all);
+	}
+
 	/**
 	 * Removes and returns the next event from the event queue.
 	 *
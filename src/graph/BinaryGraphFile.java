@@ -0,0 +1,271 @@
+package graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The {@code BinaryGraphFile} class reads and writes graphs in a compact binary format that can be memory-mapped.
+ *
+ * A graph file is made of a header followed by the compressed sparse row arrays of the graph, all stored as
+ * little-endian 32-bit integers:
+ * <pre>
+ * magic, version, nodes, totalWeight, slots, parametersLength
+ * parameters (UTF-8, padded with zeros to a multiple of 4 bytes)
+ * offsets[nodes+1]
+ * targets[slots]
+ * weights[slots]
+ * </pre>
+ * The parameters are the first line of the {@code -f} input file, so that a graph file holds a complete instance.
+ * Opening a file maps each array with {@link FileChannel#map} and wraps it in a {@link MappedWeightedGraph},
+ * without copying it to the heap. The arrays are checked once when the file is opened, so that a corrupted file
+ * is rejected up front instead of failing in the middle of a simulation.
+ *
+ * @see MappedWeightedGraph
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class BinaryGraphFile {
+
+	/**
+	 * Magic number at the start of every graph file ("ACOG").
+	 */
+	public static final int MAGIC = 0x41434F47;
+
+	/**
+	 * Version of the graph file format.
+	 */
+	public static final int VERSION = 1;
+
+	private static final int HEADER_INTS = 6;
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Private constructor, this class only has static methods.
+	 */
+	private BinaryGraphFile() {
+	}
+
+	/**
+	 * Opens a graph file and maps its arrays into memory.
+	 *
+	 * @param path the path of the graph file
+	 * @return the graph stored in the file
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not a valid graph file
+	 */
+	public static MappedWeightedGraph open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_INTS * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			readFully(channel, header, 0);
+			header.flip();
+
+			if (header.getInt() != MAGIC)
+				throw new IllegalArgumentException("The file is not a graph file");
+			if (header.getInt() != VERSION)
+				throw new IllegalArgumentException("Unsupported graph file version");
+			int nodes = header.getInt();
+			int totalWeight = header.getInt();
+			int slots = header.getInt();
+			int parametersLength = header.getInt();
+			if (nodes < 0 || totalWeight < 0 || slots < 0 || parametersLength < 0)
+				throw new IllegalArgumentException("Corrupted graph file header");
+
+			long position = HEADER_INTS * Integer.BYTES;
+			ByteBuffer parameters = ByteBuffer.allocate(parametersLength);
+			readFully(channel, parameters, position);
+			position += padded(parametersLength);
+
+			long expectedSize = position + 4L * ((long) nodes + 1 + 2L * slots);
+			if (channel.size() < expectedSize)
+				throw new IllegalArgumentException("Truncated graph file");
+
+			IntBuffer offsets = map(channel, position, nodes + 1);
+			position += 4L * (nodes + 1);
+			IntBuffer targets = map(channel, position, slots);
+			position += 4L * slots;
+			IntBuffer weights = map(channel, position, slots);
+			checkSections(nodes, slots, offsets, targets, weights);
+
+			return new MappedWeightedGraph(nodes, totalWeight,
+					new String(parameters.array(), StandardCharsets.UTF_8), offsets, targets, weights);
+		}
+	}
+
+	/**
+	 * Writes a graph and its simulation parameters to a graph file.
+	 * The neighbours of every node are written sorted, whatever the order used by the given graph.
+	 *
+	 * @param graph the graph to write
+	 * @param parameters the simulation parameters line to store with the graph
+	 * @param path the path of the graph file
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(IWeightedGraph graph, String parameters, Path path) throws IOException {
+		int nodes = graph.getNumNodes();
+		long slots = 0;
+		for (int node = 1; node < nodes + 1; node++) {
+			slots += graph.getDegree(node);
+		}
+		if (slots > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("The graph has too many edges for a graph file");
+		if (graph.getGraphWeight() > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("The total weight of the graph does not fit in a graph file");
+
+		byte[] parameterBytes = parameters.trim().getBytes(StandardCharsets.UTF_8);
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+			buffer.putInt(MAGIC).putInt(VERSION).putInt(nodes).putInt((int) graph.getGraphWeight())
+				.putInt((int) slots).putInt(parameterBytes.length);
+			flush(channel, buffer);
+			ByteBuffer parameterBuffer = ByteBuffer.allocate(padded(parameterBytes.length)).put(parameterBytes);
+			parameterBuffer.position(parameterBuffer.capacity());
+			flush(channel, parameterBuffer);
+
+			// Offsets
+			int offset = 0;
+			putInt(channel, buffer, offset);
+			for (int node = 1; node < nodes + 1; node++) {
+				offset += graph.getDegree(node);
+				putInt(channel, buffer, offset);
+			}
+
+			// Targets and weights are written row by row, each row sorted by neighbour
+			long[] row = new long[0];
+			for (int pass = 0; pass < 2; pass++) {
+				for (int node = 1; node < nodes + 1; node++) {
+					int degree = graph.getDegree(node);
+					if (row.length < degree)
+						row = new long[degree];
+					for (int i = 0; i < degree; i++) {
+						row[i] = ((long) graph.getAdjacentNode(node, i) << 32) | (graph.getAdjacentWeight(node, i) & 0xFFFFFFFFL);
+					}
+					Arrays.sort(row, 0, degree);
+					for (int i = 0; i < degree; i++) {
+						putInt(channel, buffer, (pass == 0) ? (int) (row[i] >>> 32) : (int) row[i]);
+					}
+				}
+			}
+			flush(channel, buffer);
+		}
+	}
+
+	/**
+	 * Checks that the offsets of a graph file are monotonic and end at the number of slots, and that every row
+	 * holds distinct neighbours other than the node itself, sorted and in {@code [1, nodes]}, with positive weights.
+	 *
+	 * @param nodes the number of nodes
+	 * @param slots the number of slots
+	 * @param offsets the offsets section
+	 * @param targets the targets section
+	 * @param weights the weights section
+	 * @throws IllegalArgumentException if a section is corrupted
+	 */
+	private static void checkSections(int nodes, int slots, IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+		if (offsets.get(0) != 0 || offsets.get(nodes) != slots)
+			throw new IllegalArgumentException("Corrupted graph file offsets");
+		for (int node = 1; node < nodes + 1; node++) {
+			int start = offsets.get(node - 1);
+			int end = offsets.get(node);
+			if (end < start || end > slots)
+				throw new IllegalArgumentException("Corrupted graph file offsets of node " + node);
+			int previous = 0;
+			for (int i = start; i < end; i++) {
+				int target = targets.get(i);
+				if (target <= previous || target > nodes || target == node)
+					throw new IllegalArgumentException("Corrupted graph file neighbours of node " + node);
+				if (weights.get(i) <= 0)
+					throw new IllegalArgumentException("Corrupted graph file weights of node " + node);
+				previous = target;
+			}
+		}
+	}
+
+	/**
+	 * Maps a section of a graph file as a read-only buffer of integers.
+	 *
+	 * @param channel the channel of the graph file
+	 * @param position the position of the section in the file
+	 * @param length the number of integers in the section
+	 * @return the mapped section
+	 * @throws IOException if the section cannot be mapped
+	 */
+	private static IntBuffer map(FileChannel channel, long position, int length) throws IOException {
+		if (length == 0)
+			return IntBuffer.allocate(0);
+		long size = 4L * length;
+		if (size > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("The graph file section is too large to be mapped");
+		return channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+	}
+
+	/**
+	 * Returns the given length rounded up to a multiple of 4 bytes.
+	 *
+	 * @param length the length in bytes
+	 * @return the padded length in bytes
+	 */
+	private static int padded(int length) {
+		return (length + 3) & ~3;
+	}
+
+	/**
+	 * Adds an integer to the write buffer, flushing it to the file when it is full.
+	 *
+	 * @param channel the channel of the graph file
+	 * @param buffer the write buffer
+	 * @param value the integer to write
+	 * @throws IOException if the file cannot be written
+	 */
+	private static void putInt(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+		if (buffer.remaining() < Integer.BYTES)
+			flush(channel, buffer);
+		buffer.putInt(value);
+	}
+
+	/**
+	 * Writes the content of the write buffer to the file and clears it.
+	 *
+	 * @param channel the channel of the graph file
+	 * @param buffer the write buffer
+	 * @throws IOException if the file cannot be written
+	 */
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Fills a buffer with the content of the file starting at the given position.
+	 *
+	 * @param channel the channel of the graph file
+	 * @param buffer the buffer to fill
+	 * @param position the position in the file
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if the file ends before the buffer is filled
+	 */
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position);
+			if (read < 0)
+				throw new IllegalArgumentException("Truncated graph file");
+			position += read;
+		}
+	}
+
+}
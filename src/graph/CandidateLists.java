@@ -0,0 +1,183 @@
+package graph;
+
+import java.util.stream.IntStream;
+
+/**
+ * The {@code CandidateLists} class stores, for every node of a weighted graph, its nearest adjacent nodes.
+ *
+ * The candidates of a node are its (at most) {@code size} adjacent nodes with the smallest edge weights,
+ * sorted by increasing weight. They are kept in flat primitive arrays, both as node numbers and as positions
+ * in the neighbourhood of the node (see {@link IWeightedGraph#getAdjacentNode(int, int)}).
+ * The lists of the different nodes are built in parallel.
+ *
+ * @see IWeightedGraph
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class CandidateLists {
+
+	private final int size;
+	private final int[] counts;
+	private final int[] candidates;
+	private final int[] indices;
+
+	/**
+	 * Constructs the candidate lists of every node of the specified graph.
+	 *
+	 * @param graph the weighted graph
+	 * @param size the maximum number of candidates of each node
+	 * @throws IllegalArgumentException if the size is not positive or the lists do not fit in an array
+	 */
+	public CandidateLists(IWeightedGraph graph, int size) {
+		int nodes = graph.getNumNodes();
+		if (size < 1)
+			throw new IllegalArgumentException("The number of candidates must be positive");
+		if ((long) nodes * size > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException("Too many candidates for the graph");
+
+		this.size = size;
+		this.counts = new int[nodes];
+		this.candidates = new int[nodes * size];
+		this.indices = new int[nodes * size];
+
+		IntStream.rangeClosed(1, nodes).parallel().forEach(node -> build(graph, node));
+	}
+
+	/**
+	 * Returns the maximum number of candidates of each node.
+	 *
+	 * @return the maximum number of candidates
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of candidates of the specified node, which is smaller than the maximum
+	 * when the node has fewer adjacent nodes.
+	 *
+	 * @param node the node
+	 * @return the number of candidates of the node
+	 */
+	public int getNumCandidates(int node) {
+		return counts[node-1];
+	}
+
+	/**
+	 * Returns a candidate of the specified node.
+	 *
+	 * @param node the node
+	 * @param index the position of the candidate, from the nearest to the farthest
+	 * @return the candidate node
+	 */
+	public int getCandidate(int node, int index) {
+		return candidates[(node-1) * size + index];
+	}
+
+	/**
+	 * Returns the position of a candidate of the specified node in the neighbourhood of the node.
+	 *
+	 * @param node the node
+	 * @param index the position of the candidate, from the nearest to the farthest
+	 * @return the position of the candidate among the adjacent nodes of the node
+	 */
+	public int getCandidateIndex(int node, int index) {
+		return indices[(node-1) * size + index];
+	}
+
+	/**
+	 * Selects the nearest adjacent nodes of a node with a bounded max-heap on the edge weights.
+	 *
+	 * @param graph the weighted graph
+	 * @param node the node
+	 */
+	private void build(IWeightedGraph graph, int node) {
+		int degree = graph.getDegree(node);
+		int base = (node-1) * size;
+		int[] heapIndices = new int[Math.min(size, degree)];
+		int[] heapWeights = new int[heapIndices.length];
+		int count = 0;
+
+		for (int i = 0; i < degree; i++) {
+			int weight = graph.getAdjacentWeight(node, i);
+			if (count < heapIndices.length) {
+				heapIndices[count] = i;
+				heapWeights[count] = weight;
+				siftUp(heapIndices, heapWeights, count++);
+			}
+			else if (weight < heapWeights[0]) {
+				heapIndices[0] = i;
+				heapWeights[0] = weight;
+				siftDown(heapIndices, heapWeights, count);
+			}
+		}
+
+		// Removing the heaviest candidate first fills the list from the farthest to the nearest
+		counts[node-1] = count;
+		for (int last = count - 1; last >= 0; last--) {
+			indices[base + last] = heapIndices[0];
+			candidates[base + last] = graph.getAdjacentNode(node, heapIndices[0]);
+			heapIndices[0] = heapIndices[last];
+			heapWeights[0] = heapWeights[last];
+			siftDown(heapIndices, heapWeights, last);
+		}
+	}
+
+	/**
+	 * Moves an element of the max-heap up to its place.
+	 *
+	 * @param heapIndices the positions of the adjacent nodes in the heap
+	 * @param heapWeights the weights of the corresponding edges
+	 * @param position the position of the element
+	 */
+	private static void siftUp(int[] heapIndices, int[] heapWeights, int position) {
+		while (position > 0) {
+			int parent = (position - 1) / 2;
+			if (heapWeights[parent] >= heapWeights[position])
+				break;
+			swap(heapIndices, heapWeights, parent, position);
+			position = parent;
+		}
+	}
+
+	/**
+	 * Moves the root of the max-heap down to its place.
+	 *
+	 * @param heapIndices the positions of the adjacent nodes in the heap
+	 * @param heapWeights the weights of the corresponding edges
+	 * @param count the number of elements in the heap
+	 */
+	private static void siftDown(int[] heapIndices, int[] heapWeights, int count) {
+		int position = 0;
+		while (2 * position + 1 < count) {
+			int child = 2 * position + 1;
+			if (child + 1 < count && heapWeights[child + 1] > heapWeights[child])
+				child++;
+			if (heapWeights[position] >= heapWeights[child])
+				break;
+			swap(heapIndices, heapWeights, position, child);
+			position = child;
+		}
+	}
+
+	/**
+	 * Swaps two elements of the heap.
+	 *
+	 * @param heapIndices the positions of the adjacent nodes in the heap
+	 * @param heapWeights the weights of the corresponding edges
+	 * @param i the position of one element
+	 * @param j the position of the other element
+	 */
+	private static void swap(int[] heapIndices, int[] heapWeights, int i, int j) {
+		int index = heapIndices[i];
+		heapIndices[i] = heapIndices[j];
+		heapIndices[j] = index;
+		int weight = heapWeights[i];
+		heapWeights[i] = heapWeights[j];
+		heapWeights[j] = weight;
+	}
+
+}
@@ -0,0 +1,225 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The {@code CompressedWeightedGraph} class represents an undirected weighted graph of vertices named 1 through V
+ * stored in compressed sparse row (CSR) form.
+ *
+ * The edges of node {@code i} occupy the positions {@code offsets[i-1]} to {@code offsets[i]-1} of the
+ * {@code targets} and {@code weights} arrays. Every undirected edge is stored once in each direction and the
+ * neighbours of each node are kept sorted, so the weight of an edge is found with a binary search instead of a
+ * linear scan over {@link Edge} objects.
+ *
+ * @see IGraph
+ * @see IWeightedGraph
+ * @see UndirectedWeightedGraph
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class CompressedWeightedGraph implements IWeightedGraph {
+
+	private final int nodes;
+	private final long totalWeight;
+	private final int[] offsets;
+	private final int[] targets;
+	private final int[] weights;
+
+	/**
+	 * Constructs a new {@code CompressedWeightedGraph} object with the specified number of nodes and adjacency matrix.
+	 * Only the upper triangle of the matrix is read, as in {@link UndirectedWeightedGraph}.
+	 *
+	 * @param nodes the number of nodes in the graph
+	 * @param matrix the adjacency matrix representing the graph
+	 */
+	public CompressedWeightedGraph(int nodes, int[][] matrix) {
+		this.nodes = nodes;
+		this.offsets = new int[nodes + 1];
+
+		// Count the degree of every node
+		for (int i = 0; i < nodes; i++) {
+			for (int j = i + 1; j < nodes; j++) {
+				if (matrix[i][j] != 0) {
+					offsets[i + 1]++;
+					offsets[j + 1]++;
+				}
+			}
+		}
+		for (int i = 0; i < nodes; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+
+		this.targets = new int[offsets[nodes]];
+		this.weights = new int[offsets[nodes]];
+
+		// Filling row by row, column by column keeps every neighbour list sorted
+		int[] next = Arrays.copyOf(offsets, nodes);
+		long sum = 0;
+		for (int i = 0; i < nodes; i++) {
+			for (int j = 0; j < nodes; j++) {
+				int weight = (j > i) ? matrix[i][j] : matrix[j][i];
+				if (j != i && weight != 0) {
+					targets[next[i]] = j + 1;
+					weights[next[i]] = weight;
+					next[i]++;
+					if (j > i)
+						sum += weight;
+				}
+			}
+		}
+		this.totalWeight = sum;
+	}
+
+	/**
+	 * Constructs a new {@code CompressedWeightedGraph} object from already built CSR arrays.
+	 * The neighbours of every node must be sorted and every edge must be present in both directions.
+	 *
+	 * @param nodes the number of nodes in the graph
+	 * @param offsets the start position of the neighbours of each node, with {@code nodes+1} entries
+	 * @param targets the neighbour nodes
+	 * @param weights the weight of the edge to each neighbour
+	 * @param totalWeight the sum of the weights of all the edges
+	 */
+	CompressedWeightedGraph(int nodes, int[] offsets, int[] targets, int[] weights, long totalWeight) {
+		this.nodes = nodes;
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+		this.totalWeight = totalWeight;
+	}
+
+	/**
+	 * Returns the number of nodes in the graph.
+	 *
+	 * @return the number of nodes
+	 */
+	public int getNumNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Returns the total weight of the graph.
+	 *
+	 * @return the total weight of the graph
+	 */
+	public long getGraphWeight() {
+		return totalWeight;
+	}
+
+	/**
+	 * Returns the weight of the edge connecting the specified start and end nodes.
+	 *
+	 * @param startNode the starting node of the edge
+	 * @param endNode the ending node of the edge
+	 * @return the weight of the edge, or 0 if the nodes are not adjacent
+	 */
+	public int getWeight(int startNode, int endNode) {
+		int position = Arrays.binarySearch(targets, offsets[startNode-1], offsets[startNode], endNode);
+		if (position < 0)
+			return 0;
+		return weights[position];
+	}
+
+	/**
+	 * Returns a list of adjacent nodes to the specified node.
+	 *
+	 * @param node the node for which to retrieve the adjacent nodes
+	 * @return a list of adjacent nodes
+	 */
+	public ArrayList<Integer> getAdjacentNodes(int node) {
+		ArrayList<Integer> adjacentNodes = new ArrayList<>(offsets[node] - offsets[node-1]);
+		for (int i = offsets[node-1]; i < offsets[node]; i++) {
+			adjacentNodes.add(targets[i]);
+		}
+		return adjacentNodes;
+	}
+
+	/**
+	 * Returns the number of nodes adjacent to the specified node.
+	 *
+	 * @param node the node for which to retrieve the degree
+	 * @return the number of adjacent nodes
+	 */
+	public int getDegree(int node) {
+		return offsets[node] - offsets[node-1];
+	}
+
+	/**
+	 * Returns the adjacent node of the specified node at the given position.
+	 *
+	 * @param node the node for which to retrieve the adjacent node
+	 * @param index the position of the adjacent node
+	 * @return the adjacent node
+	 */
+	public int getAdjacentNode(int node, int index) {
+		return targets[offsets[node-1] + index];
+	}
+
+	/**
+	 * Returns the weight of the edge between the specified node and its adjacent node at the given position.
+	 *
+	 * @param node the node for which to retrieve the edge weight
+	 * @param index the position of the adjacent node
+	 * @return the weight of the edge
+	 */
+	public int getAdjacentWeight(int node, int index) {
+		return weights[offsets[node-1] + index];
+	}
+
+	/**
+	 * Returns the position of an adjacent node in the neighbourhood of the specified node.
+	 *
+	 * @param node the node for which to retrieve the position
+	 * @param adjacentNode the adjacent node
+	 * @return the position of the adjacent node, or -1 if the nodes are not adjacent
+	 */
+	public int getAdjacentIndex(int node, int adjacentNode) {
+		int position = Arrays.binarySearch(targets, offsets[node-1], offsets[node], adjacentNode);
+		if (position < 0)
+			return -1;
+		return position - offsets[node-1];
+	}
+
+	/**
+	 * Returns the slot of the first edge of the specified node, which is its position in the CSR arrays.
+	 *
+	 * @param node the node for which to retrieve the offset
+	 * @return the slot of the first edge of the node
+	 */
+	public int getAdjacencyOffset(int node) {
+		return offsets[node-1];
+	}
+
+	/**
+	 * Returns the number of slots of the adjacency layout.
+	 *
+	 * @return twice the number of edges
+	 */
+	public int getAdjacencySize() {
+		return offsets[nodes];
+	}
+
+	/**
+	 * Prints the graph representation.
+	 */
+	public void printGraph() {
+		for (int i = 0; i < this.nodes; i++) {
+			System.out.print("\t\t     ");
+			int position = offsets[i];
+			for (int j = 1; j < this.nodes + 1; j++) {
+				if (position < offsets[i+1] && targets[position] == j) {
+					System.out.print(weights[position] + " ");
+					position++;
+				}
+				else
+					System.out.print("0 ");
+			}
+			System.out.println();
+		}
+	}
+
+}
@@ -0,0 +1,347 @@
+package graph;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code CoordinateWeightedGraph} class represents a complete undirected weighted graph of vertices named
+ * 1 through V, where every vertex is a city with coordinates and the weight of an edge is the distance between
+ * its two cities.
+ *
+ * Only the coordinates are stored and the weights are computed on demand with one of the TSPLIB distance
+ * functions, so the memory of the graph grows with the number of nodes instead of the number of edges.
+ * Recently used distances can optionally be kept in a bounded cache, which is worthwhile for the more
+ * expensive {@code GEO} distance.
+ *
+ * Since a weight of 0 means that there is no edge, the distance between two distinct cities at the same
+ * position is raised to 1.
+ *
+ * Every cache entry packs the edge and its distance in a single {@code long}, read and written in opaque mode,
+ * which is atomic even for a {@code long}, so concurrent readers never see the distance of one edge under the key
+ * of another. Distances that do not fit in an entry are not cached.
+ *
+ * The total weight of the graph sums the distances of all the pairs of cities, which takes a time quadratic in
+ * the number of cities. It is computed in parallel on the first call and kept.
+ *
+ * @see TsplibReader
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class CoordinateWeightedGraph implements IWeightedGraph {
+
+	/**
+	 * The TSPLIB distance functions supported by the graph.
+	 */
+	public enum Metric {
+		/** Euclidean distance rounded to the nearest integer. */
+		EUC_2D,
+		/** Euclidean distance rounded up to the next integer. */
+		CEIL_2D,
+		/** Pseudo-Euclidean distance of the {@code att} instances. */
+		ATT,
+		/** Geographical distance, with coordinates given in degrees and minutes. */
+		GEO
+	}
+
+	private static final double PI = 3.141592;
+	private static final double EARTH_RADIUS = 6378.388;
+
+	private final int nodes;
+	private final Metric metric;
+	private final double[] x;
+	private final double[] y;
+	private long totalWeight = -1;
+
+	// Optional direct-mapped cache of distances, indexed by a hash of the edge
+	private static final int NODE_BITS = 21;
+	private static final int WEIGHT_BITS = 64 - 2 * NODE_BITS;
+	private static final VarHandle CACHE_ENTRY = MethodHandles.arrayElementVarHandle(long[].class);
+	private final long[] cache;
+	private final int cacheMask;
+
+	/**
+	 * Constructs a new {@code CoordinateWeightedGraph} object without a distance cache.
+	 *
+	 * @param metric the distance function
+	 * @param x the first coordinate of every city, the city {@code i} being at position {@code i-1}
+	 * @param y the second coordinate of every city
+	 */
+	public CoordinateWeightedGraph(Metric metric, double[] x, double[] y) {
+		this(metric, x, y, 0);
+	}
+
+	/**
+	 * Constructs a new {@code CoordinateWeightedGraph} object with a distance cache of the given size.
+	 *
+	 * @param metric the distance function
+	 * @param x the first coordinate of every city, the city {@code i} being at position {@code i-1}
+	 * @param y the second coordinate of every city
+	 * @param cacheSize the maximum number of cached distances, rounded up to a power of two, or 0 for no cache
+	 */
+	public CoordinateWeightedGraph(Metric metric, double[] x, double[] y, int cacheSize) {
+		if (x.length != y.length)
+			throw new IllegalArgumentException("Every city must have two coordinates");
+		this.nodes = x.length;
+		this.metric = metric;
+		if (metric == Metric.GEO) {
+			// Convert the coordinates to latitude and longitude in radians once
+			this.x = new double[nodes];
+			this.y = new double[nodes];
+			for (int i = 0; i < nodes; i++) {
+				this.x[i] = toRadians(x[i]);
+				this.y[i] = toRadians(y[i]);
+			}
+		}
+		else {
+			this.x = x.clone();
+			this.y = y.clone();
+		}
+
+		if (cacheSize > 0 && nodes < (1 << NODE_BITS)) {
+			int size = Integer.highestOneBit(Math.min(cacheSize, 1 << 30));
+			if (size < cacheSize)
+				size <<= 1;
+			this.cache = new long[size];
+			this.cacheMask = size - 1;
+		}
+		else {
+			this.cache = null;
+			this.cacheMask = 0;
+		}
+	}
+
+	/**
+	 * Returns the distance function of the graph.
+	 *
+	 * @return the distance function
+	 */
+	public Metric getMetric() {
+		return metric;
+	}
+
+	/**
+	 * Returns the number of nodes in the graph.
+	 *
+	 * @return the number of nodes
+	 */
+	public int getNumNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Returns the total weight of the graph.
+	 * It is computed on the first call, in a time quadratic in the number of nodes.
+	 *
+	 * @return the total weight of the graph
+	 */
+	public long getGraphWeight() {
+		if (totalWeight < 0) {
+			long sum = IntStream.rangeClosed(1, nodes).parallel().mapToLong(i -> {
+				long row = 0;
+				for (int j = i + 1; j < nodes + 1; j++) {
+					row += distance(i, j);
+				}
+				return row;
+			}).sum();
+			totalWeight = sum;
+		}
+		return totalWeight;
+	}
+
+	/**
+	 * Returns the weight of the edge connecting the specified start and end nodes.
+	 *
+	 * @param startNode the starting node of the edge
+	 * @param endNode the ending node of the edge
+	 * @return the distance between the two cities, or 0 if both nodes are the same
+	 */
+	public int getWeight(int startNode, int endNode) {
+		if (startNode == endNode)
+			return 0;
+		if (cache == null)
+			return distance(startNode, endNode);
+
+		// The key holds both nodes, the smallest first, above the bits of the distance
+		long key = (startNode < endNode)
+				? ((long) startNode << (NODE_BITS + WEIGHT_BITS)) | ((long) endNode << WEIGHT_BITS)
+				: ((long) endNode << (NODE_BITS + WEIGHT_BITS)) | ((long) startNode << WEIGHT_BITS);
+		int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & cacheMask;
+		long entry = (long) CACHE_ENTRY.getOpaque(cache, slot);
+		if ((entry & ~((1L << WEIGHT_BITS) - 1)) == key)
+			return (int) (entry & ((1L << WEIGHT_BITS) - 1));
+		int weight = distance(startNode, endNode);
+		if (weight < (1 << WEIGHT_BITS))
+			CACHE_ENTRY.setOpaque(cache, slot, key | weight);
+		return weight;
+	}
+
+	/**
+	 * Returns a list of adjacent nodes to the specified node, which are all the other nodes.
+	 *
+	 * @param node the node for which to retrieve the adjacent nodes
+	 * @return a list of adjacent nodes
+	 */
+	public ArrayList<Integer> getAdjacentNodes(int node) {
+		ArrayList<Integer> adjacentNodes = new ArrayList<>(nodes - 1);
+		for (int i = 1; i < nodes + 1; i++) {
+			if (i != node)
+				adjacentNodes.add(i);
+		}
+		return adjacentNodes;
+	}
+
+	/**
+	 * Returns the number of nodes adjacent to the specified node.
+	 *
+	 * @param node the node for which to retrieve the degree
+	 * @return the number of adjacent nodes
+	 */
+	public int getDegree(int node) {
+		return nodes - 1;
+	}
+
+	/**
+	 * Returns the adjacent node of the specified node at the given position.
+	 *
+	 * @param node the node for which to retrieve the adjacent node
+	 * @param index the position of the adjacent node
+	 * @return the adjacent node
+	 */
+	public int getAdjacentNode(int node, int index) {
+		return (index < node - 1) ? index + 1 : index + 2;
+	}
+
+	/**
+	 * Returns the weight of the edge between the specified node and its adjacent node at the given position.
+	 *
+	 * @param node the node for which to retrieve the edge weight
+	 * @param index the position of the adjacent node
+	 * @return the weight of the edge
+	 */
+	public int getAdjacentWeight(int node, int index) {
+		return getWeight(node, getAdjacentNode(node, index));
+	}
+
+	/**
+	 * Returns the position of an adjacent node in the neighbourhood of the specified node.
+	 *
+	 * @param node the node for which to retrieve the position
+	 * @param adjacentNode the adjacent node
+	 * @return the position of the adjacent node, or -1 if both nodes are the same
+	 */
+	public int getAdjacentIndex(int node, int adjacentNode) {
+		if (node == adjacentNode)
+			return -1;
+		return (adjacentNode < node) ? adjacentNode - 1 : adjacentNode - 2;
+	}
+
+	/**
+	 * Returns the slot of the first edge of the specified node in the adjacency layout.
+	 * Like the slots themselves, it is only meaningful when {@link #getAdjacencySize()} does not throw.
+	 *
+	 * @param node the node for which to retrieve the offset
+	 * @return the slot of the first edge of the node
+	 */
+	public int getAdjacencyOffset(int node) {
+		return (node - 1) * (nodes - 1);
+	}
+
+	/**
+	 * Returns the number of slots of the adjacency layout.
+	 *
+	 * @return twice the number of edges
+	 * @throws IllegalStateException if the graph has too many edges to be indexed
+	 */
+	public int getAdjacencySize() {
+		long size = (long) nodes * (nodes - 1);
+		if (size > Integer.MAX_VALUE)
+			throw new IllegalStateException("The graph has too many edges to be indexed");
+		return (int) size;
+	}
+
+	/**
+	 * Prints the graph representation, which is the list of cities and their coordinates.
+	 */
+	public void printGraph() {
+		System.out.println("\t\t     " + metric + " cities:");
+		for (int i = 0; i < this.nodes; i++) {
+			if (metric == Metric.GEO)
+				System.out.println("\t\t     " + (i + 1) + " " + fromRadians(x[i]) + " " + fromRadians(y[i]));
+			else
+				System.out.println("\t\t     " + (i + 1) + " " + x[i] + " " + y[i]);
+		}
+	}
+
+	/**
+	 * Computes the distance between two distinct cities with the distance function of the graph.
+	 *
+	 * @param startNode one city
+	 * @param endNode the other city
+	 * @return the distance between the two cities, at least 1
+	 */
+	private int distance(int startNode, int endNode) {
+		int i = startNode - 1;
+		int j = endNode - 1;
+		int distance;
+		switch (metric) {
+			case EUC_2D: {
+				double dx = x[i] - x[j];
+				double dy = y[i] - y[j];
+				distance = (int) (Math.sqrt(dx * dx + dy * dy) + 0.5);
+				break;
+			}
+			case CEIL_2D: {
+				double dx = x[i] - x[j];
+				double dy = y[i] - y[j];
+				distance = (int) Math.ceil(Math.sqrt(dx * dx + dy * dy));
+				break;
+			}
+			case ATT: {
+				double dx = x[i] - x[j];
+				double dy = y[i] - y[j];
+				double r = Math.sqrt((dx * dx + dy * dy) / 10.0);
+				int t = (int) (r + 0.5);
+				distance = (t < r) ? t + 1 : t;
+				break;
+			}
+			default: {
+				double q1 = Math.cos(y[i] - y[j]);
+				double q2 = Math.cos(x[i] - x[j]);
+				double q3 = Math.cos(x[i] + x[j]);
+				distance = (int) (EARTH_RADIUS * Math.acos(0.5 * ((1.0 + q1) * q2 - (1.0 - q1) * q3)) + 1.0);
+				break;
+			}
+		}
+		return Math.max(distance, 1);
+	}
+
+	/**
+	 * Converts a TSPLIB geographical coordinate, in degrees and minutes, to radians.
+	 *
+	 * @param coordinate the coordinate in the {@code DDD.MM} format
+	 * @return the coordinate in radians
+	 */
+	private static double toRadians(double coordinate) {
+		int degrees = (int) coordinate;
+		double minutes = coordinate - degrees;
+		return PI * (degrees + 5.0 * minutes / 3.0) / 180.0;
+	}
+
+	/**
+	 * Converts an angle in radians back to the TSPLIB {@code DDD.MM} format.
+	 *
+	 * @param radians the angle in radians
+	 * @return the coordinate in the {@code DDD.MM} format
+	 */
+	private static double fromRadians(double radians) {
+		double value = radians * 180.0 / PI;
+		int degrees = (int) value;
+		return degrees + (value - degrees) * 3.0 / 5.0;
+	}
+
+}
@@ -0,0 +1,239 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The {@code DenseWeightedGraph} class represents an undirected weighted graph of vertices named 1 through V
+ * stored as a full weight matrix.
+ *
+ * The matrix is kept in a single row-major {@code int[]}, where the weight of the edge between nodes
+ * {@code i} and {@code j} is at position {@code (i-1)*V + (j-1)} and a weight of 0 means that there is no edge.
+ * This makes {@link #getWeight(int, int)} a single array read, which suits complete and near-complete graphs.
+ * The neighbours of a node connected to every other node follow from its number, the neighbour at position
+ * {@code index} of node {@code i} being {@code index+1} below {@code i-1} and {@code index+2} from there on,
+ * so a complete graph takes no memory besides its matrix. Only the rows with missing edges keep a sorted list
+ * of their neighbours, so that they can be iterated without scanning a whole row of the matrix.
+ *
+ * @see IGraph
+ * @see IWeightedGraph
+ * @see CompressedWeightedGraph
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class DenseWeightedGraph implements IWeightedGraph {
+
+	private final int nodes;
+	private final long totalWeight;
+	private final int[] matrix;
+	private int[] offsets;
+	// Sorted neighbours of every node, or null for the nodes adjacent to every other node
+	private int[][] targets;
+
+	/**
+	 * Constructs a new {@code DenseWeightedGraph} object with the specified number of nodes and adjacency matrix.
+	 * Only the upper triangle of the matrix is read, as in {@link UndirectedWeightedGraph}.
+	 *
+	 * @param nodes the number of nodes in the graph
+	 * @param matrix the adjacency matrix representing the graph
+	 */
+	public DenseWeightedGraph(int nodes, int[][] matrix) {
+		this.nodes = nodes;
+		this.matrix = new int[checkedSize(nodes)];
+		long sum = 0;
+		for (int i = 0; i < nodes; i++) {
+			for (int j = i + 1; j < nodes; j++) {
+				int weight = matrix[i][j];
+				this.matrix[i * nodes + j] = weight;
+				this.matrix[j * nodes + i] = weight;
+				sum += weight;
+			}
+		}
+		this.totalWeight = sum;
+		this.buildNeighbourIndex();
+	}
+
+	/**
+	 * Constructs a new {@code DenseWeightedGraph} object from an already filled symmetric row-major matrix.
+	 *
+	 * @param nodes the number of nodes in the graph
+	 * @param matrix the row-major weight matrix, with {@code nodes*nodes} entries
+	 * @param totalWeight the sum of the weights of all the edges
+	 */
+	DenseWeightedGraph(int nodes, int[] matrix, long totalWeight) {
+		this.nodes = nodes;
+		this.matrix = matrix;
+		this.totalWeight = totalWeight;
+		this.buildNeighbourIndex();
+	}
+
+	/**
+	 * Returns the number of entries of a row-major matrix of the given number of nodes.
+	 *
+	 * @param nodes the number of nodes in the graph
+	 * @return the number of entries of the matrix
+	 * @throws IllegalArgumentException if the matrix does not fit in a single array
+	 */
+	static int checkedSize(int nodes) {
+		long size = (long) nodes * nodes;
+		if (size > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException("The graph has too many nodes for a dense representation");
+		return (int) size;
+	}
+
+	/**
+	 * Builds the sorted list of neighbours of every node with missing edges from the weight matrix.
+	 */
+	private void buildNeighbourIndex() {
+		this.offsets = new int[nodes + 1];
+		this.targets = new int[nodes][];
+		for (int i = 0; i < nodes; i++) {
+			int degree = 0;
+			for (int j = i * nodes; j < (i + 1) * nodes; j++) {
+				if (matrix[j] != 0)
+					degree++;
+			}
+			offsets[i + 1] = offsets[i] + degree;
+			if (degree == nodes - 1)
+				continue;
+			int[] row = new int[degree];
+			int position = 0;
+			for (int j = 0; j < nodes; j++) {
+				if (matrix[i * nodes + j] != 0)
+					row[position++] = j + 1;
+			}
+			targets[i] = row;
+		}
+	}
+
+	/**
+	 * Returns the number of nodes in the graph.
+	 *
+	 * @return the number of nodes
+	 */
+	public int getNumNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Returns the total weight of the graph.
+	 *
+	 * @return the total weight of the graph
+	 */
+	public long getGraphWeight() {
+		return totalWeight;
+	}
+
+	/**
+	 * Returns the weight of the edge connecting the specified start and end nodes.
+	 *
+	 * @param startNode the starting node of the edge
+	 * @param endNode the ending node of the edge
+	 * @return the weight of the edge, or 0 if the nodes are not adjacent
+	 */
+	public int getWeight(int startNode, int endNode) {
+		return matrix[(startNode-1) * nodes + (endNode-1)];
+	}
+
+	/**
+	 * Returns a list of adjacent nodes to the specified node.
+	 *
+	 * @param node the node for which to retrieve the adjacent nodes
+	 * @return a list of adjacent nodes
+	 */
+	public ArrayList<Integer> getAdjacentNodes(int node) {
+		int degree = getDegree(node);
+		ArrayList<Integer> adjacentNodes = new ArrayList<>(degree);
+		for (int i = 0; i < degree; i++) {
+			adjacentNodes.add(getAdjacentNode(node, i));
+		}
+		return adjacentNodes;
+	}
+
+	/**
+	 * Returns the number of nodes adjacent to the specified node.
+	 *
+	 * @param node the node for which to retrieve the degree
+	 * @return the number of adjacent nodes
+	 */
+	public int getDegree(int node) {
+		return offsets[node] - offsets[node-1];
+	}
+
+	/**
+	 * Returns the adjacent node of the specified node at the given position.
+	 *
+	 * @param node the node for which to retrieve the adjacent node
+	 * @param index the position of the adjacent node
+	 * @return the adjacent node
+	 */
+	public int getAdjacentNode(int node, int index) {
+		int[] row = targets[node-1];
+		if (row == null)
+			return (index < node - 1) ? index + 1 : index + 2;
+		return row[index];
+	}
+
+	/**
+	 * Returns the weight of the edge between the specified node and its adjacent node at the given position.
+	 *
+	 * @param node the node for which to retrieve the edge weight
+	 * @param index the position of the adjacent node
+	 * @return the weight of the edge
+	 */
+	public int getAdjacentWeight(int node, int index) {
+		return matrix[(node-1) * nodes + getAdjacentNode(node, index) - 1];
+	}
+
+	/**
+	 * Returns the position of an adjacent node in the neighbourhood of the specified node.
+	 *
+	 * @param node the node for which to retrieve the position
+	 * @param adjacentNode the adjacent node
+	 * @return the position of the adjacent node, or -1 if the nodes are not adjacent
+	 */
+	public int getAdjacentIndex(int node, int adjacentNode) {
+		if (node == adjacentNode || matrix[(node-1) * nodes + (adjacentNode-1)] == 0)
+			return -1;
+		int[] row = targets[node-1];
+		if (row == null)
+			return (adjacentNode < node) ? adjacentNode - 1 : adjacentNode - 2;
+		return Arrays.binarySearch(row, adjacentNode);
+	}
+
+	/**
+	 * Returns the slot of the first edge of the specified node, the number of edges of the nodes before it.
+	 *
+	 * @param node the node for which to retrieve the offset
+	 * @return the slot of the first edge of the node
+	 */
+	public int getAdjacencyOffset(int node) {
+		return offsets[node-1];
+	}
+
+	/**
+	 * Returns the number of slots of the adjacency layout.
+	 *
+	 * @return twice the number of edges
+	 */
+	public int getAdjacencySize() {
+		return offsets[nodes];
+	}
+
+	/**
+	 * Prints the graph representation.
+	 */
+	public void printGraph() {
+		for (int i = 0; i < this.nodes; i++) {
+			System.out.print("\t\t     ");
+			for (int j = 0; j < this.nodes; j++) {
+				System.out.print(matrix[i * nodes + j] + " ");
+			}
+			System.out.println();
+		}
+	}
+
+}
@@ -0,0 +1,188 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * The {@code GraphBuilder} class builds a weighted graph edge by edge, without an intermediate adjacency matrix.
+ *
+ * Edges must be added in increasing order of their smaller endpoint and then of their larger endpoint, which is
+ * the order in which they appear when the upper triangle of an adjacency matrix is read row by row. The edges are
+ * kept in compact arrays until the graph is built. As soon as enough edges have been added for the graph to
+ * be dense (see {@link WeightedGraphFactory#isDense(int, long)}), they are moved into a row-major weight matrix and
+ * the following edges are written there directly.
+ *
+ * @see WeightedGraphFactory
+ * @see CompressedWeightedGraph
+ * @see DenseWeightedGraph
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class GraphBuilder {
+
+	private final int nodes;
+	private int numEdges;
+	private long totalWeight;
+	private int lastStart;
+	private int lastEnd;
+
+	// Sparse storage: upper triangle edges sorted by start node
+	private int[] upperDegree;
+	private int[] ends;
+	private int[] weights;
+
+	// Dense storage, used once the graph is known to be dense
+	private int[] matrix;
+
+	/**
+	 * Constructs a new {@code GraphBuilder} object for a graph with the specified number of nodes.
+	 *
+	 * @param nodes the number of nodes in the graph
+	 */
+	public GraphBuilder(int nodes) {
+		this.nodes = nodes;
+		this.upperDegree = new int[nodes];
+		this.ends = new int[16];
+		this.weights = new int[16];
+	}
+
+	/**
+	 * Returns the number of nodes of the graph being built.
+	 *
+	 * @return the number of nodes
+	 */
+	public int getNumNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Returns the number of edges added so far.
+	 *
+	 * @return the number of edges
+	 */
+	public int getNumEdges() {
+		return numEdges;
+	}
+
+	/**
+	 * Adds an edge to the graph. Edges with a weight of 0 are ignored, as in an adjacency matrix.
+	 *
+	 * @param startNode one endpoint of the edge
+	 * @param endNode the other endpoint of the edge
+	 * @param weight the weight of the edge
+	 * @throws IllegalArgumentException if the edge is a loop, has a negative weight or is not added in order
+	 */
+	public void addEdge(int startNode, int endNode, int weight) {
+		if (weight == 0)
+			return;
+		if (weight < 0)
+			throw new IllegalArgumentException("The graph must not have negative weights. Please correct edge (" + startNode + "," + endNode + ")");
+		if (startNode > endNode) {
+			int swap = startNode;
+			startNode = endNode;
+			endNode = swap;
+		}
+		if (startNode == endNode || startNode < 1 || endNode > nodes)
+			throw new IllegalArgumentException("Invalid edge (" + startNode + "," + endNode + ")");
+		if (startNode < lastStart || (startNode == lastStart && endNode <= lastEnd))
+			throw new IllegalArgumentException("Edges must be added in increasing order");
+		lastStart = startNode;
+		lastEnd = endNode;
+
+		numEdges++;
+		totalWeight += weight;
+
+		if (matrix != null) {
+			matrix[(startNode-1) * nodes + (endNode-1)] = weight;
+			matrix[(endNode-1) * nodes + (startNode-1)] = weight;
+			return;
+		}
+
+		int size = numEdges - 1;
+		if (size == ends.length) {
+			int capacity = (int) Math.min(Integer.MAX_VALUE - 8, 2L * size);
+			ends = Arrays.copyOf(ends, capacity);
+			weights = Arrays.copyOf(weights, capacity);
+		}
+		ends[size] = endNode;
+		weights[size] = weight;
+		upperDegree[startNode-1]++;
+
+		if (WeightedGraphFactory.isDense(nodes, numEdges))
+			moveToMatrix();
+	}
+
+	/**
+	 * Builds the graph, using a {@link DenseWeightedGraph} for dense graphs and a
+	 * {@link CompressedWeightedGraph} otherwise.
+	 *
+	 * @return the weighted graph
+	 */
+	public IWeightedGraph build() {
+		if (matrix != null)
+			return new DenseWeightedGraph(nodes, matrix, totalWeight);
+		return buildCompressed();
+	}
+
+	/**
+	 * Builds the graph in compressed sparse row form.
+	 *
+	 * @return the compressed weighted graph
+	 * @throws IllegalStateException if the edges were already moved to a dense matrix
+	 */
+	public CompressedWeightedGraph buildCompressed() {
+		if (matrix != null)
+			throw new IllegalStateException("The graph is dense");
+
+		int[] offsets = new int[nodes + 1];
+		int position = 0;
+		for (int node = 0; node < nodes; node++) {
+			offsets[node + 1] += upperDegree[node];
+			for (int i = 0; i < upperDegree[node]; i++) {
+				offsets[ends[position++]]++;
+			}
+		}
+		for (int node = 0; node < nodes; node++) {
+			offsets[node + 1] += offsets[node];
+		}
+
+		// Edges are sorted by start node, so every row is filled in increasing order of neighbour
+		int[] targets = new int[offsets[nodes]];
+		int[] arcWeights = new int[offsets[nodes]];
+		int[] next = Arrays.copyOf(offsets, nodes);
+		position = 0;
+		for (int node = 0; node < nodes; node++) {
+			for (int i = 0; i < upperDegree[node]; i++) {
+				int end = ends[position] - 1;
+				targets[next[node]] = end + 1;
+				arcWeights[next[node]++] = weights[position];
+				targets[next[end]] = node + 1;
+				arcWeights[next[end]++] = weights[position];
+				position++;
+			}
+		}
+		return new CompressedWeightedGraph(nodes, offsets, targets, arcWeights, totalWeight);
+	}
+
+	/**
+	 * Moves the edges added so far into a row-major weight matrix and releases the sparse storage.
+	 */
+	private void moveToMatrix() {
+		matrix = new int[DenseWeightedGraph.checkedSize(nodes)];
+		int position = 0;
+		for (int node = 0; node < nodes; node++) {
+			for (int i = 0; i < upperDegree[node]; i++) {
+				int end = ends[position] - 1;
+				matrix[node * nodes + end] = weights[position];
+				matrix[end * nodes + node] = weights[position];
+				position++;
+			}
+		}
+		upperDegree = null;
+		ends = null;
+		weights = null;
+	}
+
+}
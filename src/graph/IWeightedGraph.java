@@ -15,6 +15,15 @@ import java.util.ArrayList;
  * 
  * The {@code getAdjacentNodes(int node)} method retrieves a list of adjacent nodes to the specified node.
  * 
+ * The {@code getDegree(int node)}, {@code getAdjacentNode(int node, int index)} and
+ * {@code getAdjacentWeight(int node, int index)} methods give indexed access to the neighbours of a node
+ * and to the weights of the corresponding edges without allocating a list.
+ * 
+ * The {@code getAdjacencyOffset(int node)}, {@code getAdjacencySize()} and {@code getAdjacentIndex(int node, int adjacentNode)}
+ * methods describe the adjacency layout of the graph, in which every edge has one slot in each direction: the edges of a node
+ * occupy the slots {@code getAdjacencyOffset(node)} to {@code getAdjacencyOffset(node)+getDegree(node)-1}, in the order of its
+ * neighbours. Data kept per edge, such as pheromone levels, can be stored in arrays indexed by these slots.
+ * 
  * The {@code printGraph()} method prints the graph representation.
  * 
  * @see IGraph
@@ -44,10 +53,11 @@ public interface IWeightedGraph extends IGraph {
 
 	/**
 	 * Retrieves the total weight of the graph.
+	 * It is a {@code long}, since the sum of the weights of a large graph does not fit in an {@code int}.
 	 * 
 	 * @return the total weight of the graph
 	 */
-	public int getGraphWeight();
+	public long getGraphWeight();
 
 	/**
 	 * Retrieves a list of adjacent nodes to the specified node.
@@ -57,6 +67,57 @@ public interface IWeightedGraph extends IGraph {
 	 */
 	public ArrayList<Integer> getAdjacentNodes(int node);
 
+	/**
+	 * Retrieves the number of nodes adjacent to the specified node.
+	 * 
+	 * @param node the node for which to retrieve the degree
+	 * @return the number of adjacent nodes
+	 */
+	public int getDegree(int node);
+
+	/**
+	 * Retrieves an adjacent node of the specified node.
+	 * The neighbours are numbered from 0 to {@code getDegree(node)-1}, in the same order as {@link #getAdjacentNodes(int)}.
+	 * 
+	 * @param node the node for which to retrieve the adjacent node
+	 * @param index the position of the adjacent node, between 0 and {@code getDegree(node)-1}
+	 * @return the adjacent node at the given position
+	 */
+	public int getAdjacentNode(int node, int index);
+
+	/**
+	 * Retrieves the weight of the edge between the specified node and one of its adjacent nodes.
+	 * 
+	 * @param node the node for which to retrieve the edge weight
+	 * @param index the position of the adjacent node, between 0 and {@code getDegree(node)-1}
+	 * @return the weight of the edge to the adjacent node at the given position
+	 */
+	public int getAdjacentWeight(int node, int index);
+
+	/**
+	 * Retrieves the position of an adjacent node in the neighbourhood of the specified node.
+	 * 
+	 * @param node the node for which to retrieve the position
+	 * @param adjacentNode the adjacent node
+	 * @return the position of the adjacent node, between 0 and {@code getDegree(node)-1}, or -1 if the nodes are not adjacent
+	 */
+	public int getAdjacentIndex(int node, int adjacentNode);
+
+	/**
+	 * Retrieves the slot of the first edge of the specified node in the adjacency layout.
+	 * 
+	 * @param node the node for which to retrieve the offset
+	 * @return the slot of the edge to the adjacent node at position 0
+	 */
+	public int getAdjacencyOffset(int node);
+
+	/**
+	 * Retrieves the number of slots of the adjacency layout, which is twice the number of edges.
+	 * 
+	 * @return the number of slots
+	 */
+	public int getAdjacencySize();
+
 	/**
 	 * Prints the graph representation.
 	 */
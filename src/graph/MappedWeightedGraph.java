@@ -0,0 +1,201 @@
+package graph;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+
+/**
+ * The {@code MappedWeightedGraph} class represents an undirected weighted graph of vertices named 1 through V
+ * whose compressed sparse row arrays live in a memory-mapped graph file.
+ *
+ * The arrays are read directly from the mapped file through {@link IntBuffer} views, so opening a graph does not
+ * copy or parse its edges. The layout of the arrays is the same as in {@link CompressedWeightedGraph}.
+ * Instances are created by {@link BinaryGraphFile#open(java.nio.file.Path)}.
+ *
+ * @see BinaryGraphFile
+ * @see CompressedWeightedGraph
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class MappedWeightedGraph implements IWeightedGraph {
+
+	private final int nodes;
+	private final long totalWeight;
+	private final String parameters;
+	private final IntBuffer offsets;
+	private final IntBuffer targets;
+	private final IntBuffer weights;
+
+	/**
+	 * Constructs a new {@code MappedWeightedGraph} object over the mapped sections of a graph file.
+	 *
+	 * @param nodes the number of nodes in the graph
+	 * @param totalWeight the sum of the weights of all the edges
+	 * @param parameters the simulation parameters stored with the graph
+	 * @param offsets the start position of the neighbours of each node, with {@code nodes+1} entries
+	 * @param targets the neighbour nodes
+	 * @param weights the weight of the edge to each neighbour
+	 */
+	MappedWeightedGraph(int nodes, long totalWeight, String parameters, IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+		this.nodes = nodes;
+		this.totalWeight = totalWeight;
+		this.parameters = parameters;
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+	}
+
+	/**
+	 * Returns the simulation parameters line stored with the graph, in the format of the first line of the
+	 * {@code -f} input file.
+	 *
+	 * @return the simulation parameters line
+	 */
+	public String getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * Returns the number of nodes in the graph.
+	 *
+	 * @return the number of nodes
+	 */
+	public int getNumNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Returns the total weight of the graph.
+	 *
+	 * @return the total weight of the graph
+	 */
+	public long getGraphWeight() {
+		return totalWeight;
+	}
+
+	/**
+	 * Returns the weight of the edge connecting the specified start and end nodes.
+	 *
+	 * @param startNode the starting node of the edge
+	 * @param endNode the ending node of the edge
+	 * @return the weight of the edge, or 0 if the nodes are not adjacent
+	 */
+	public int getWeight(int startNode, int endNode) {
+		int index = getAdjacentIndex(startNode, endNode);
+		if (index < 0)
+			return 0;
+		return weights.get(offsets.get(startNode-1) + index);
+	}
+
+	/**
+	 * Returns a list of adjacent nodes to the specified node.
+	 *
+	 * @param node the node for which to retrieve the adjacent nodes
+	 * @return a list of adjacent nodes
+	 */
+	public ArrayList<Integer> getAdjacentNodes(int node) {
+		ArrayList<Integer> adjacentNodes = new ArrayList<>(getDegree(node));
+		for (int i = offsets.get(node-1); i < offsets.get(node); i++) {
+			adjacentNodes.add(targets.get(i));
+		}
+		return adjacentNodes;
+	}
+
+	/**
+	 * Returns the number of nodes adjacent to the specified node.
+	 *
+	 * @param node the node for which to retrieve the degree
+	 * @return the number of adjacent nodes
+	 */
+	public int getDegree(int node) {
+		return offsets.get(node) - offsets.get(node-1);
+	}
+
+	/**
+	 * Returns the adjacent node of the specified node at the given position.
+	 *
+	 * @param node the node for which to retrieve the adjacent node
+	 * @param index the position of the adjacent node
+	 * @return the adjacent node
+	 */
+	public int getAdjacentNode(int node, int index) {
+		return targets.get(offsets.get(node-1) + index);
+	}
+
+	/**
+	 * Returns the weight of the edge between the specified node and its adjacent node at the given position.
+	 *
+	 * @param node the node for which to retrieve the edge weight
+	 * @param index the position of the adjacent node
+	 * @return the weight of the edge
+	 */
+	public int getAdjacentWeight(int node, int index) {
+		return weights.get(offsets.get(node-1) + index);
+	}
+
+	/**
+	 * Returns the position of an adjacent node in the neighbourhood of the specified node.
+	 *
+	 * @param node the node for which to retrieve the position
+	 * @param adjacentNode the adjacent node
+	 * @return the position of the adjacent node, or -1 if the nodes are not adjacent
+	 */
+	public int getAdjacentIndex(int node, int adjacentNode) {
+		int first = offsets.get(node-1);
+		int low = first;
+		int high = offsets.get(node) - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int target = targets.get(middle);
+			if (target < adjacentNode)
+				low = middle + 1;
+			else if (target > adjacentNode)
+				high = middle - 1;
+			else
+				return middle - first;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the slot of the first edge of the specified node, which is its position in the CSR sections.
+	 *
+	 * @param node the node for which to retrieve the offset
+	 * @return the slot of the first edge of the node
+	 */
+	public int getAdjacencyOffset(int node) {
+		return offsets.get(node-1);
+	}
+
+	/**
+	 * Returns the number of slots of the adjacency layout.
+	 *
+	 * @return twice the number of edges
+	 */
+	public int getAdjacencySize() {
+		return offsets.get(nodes);
+	}
+
+	/**
+	 * Prints the graph representation.
+	 */
+	public void printGraph() {
+		for (int i = 0; i < this.nodes; i++) {
+			System.out.print("\t\t     ");
+			int position = offsets.get(i);
+			int end = offsets.get(i+1);
+			for (int j = 1; j < this.nodes + 1; j++) {
+				if (position < end && targets.get(position) == j) {
+					System.out.print(weights.get(position) + " ");
+					position++;
+				}
+				else
+					System.out.print("0 ");
+			}
+			System.out.println();
+		}
+	}
+
+}
@@ -0,0 +1,209 @@
+package graph;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The {@code MatrixFileReader} class reads the input file of the {@code -f} command: a line of simulation
+ * parameters followed by the adjacency matrix of the graph, one row per line.
+ *
+ * The matrix is read with a byte-level tokenizer that parses the weights directly from a reusable buffer,
+ * without creating a {@code String} per line or per weight. Each row is passed to a {@link GraphBuilder}
+ * as soon as it is read, so the full matrix is never held in memory. Files compressed with gzip are
+ * detected from their first bytes and decompressed transparently.
+ *
+ * @see GraphBuilder
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class MatrixFileReader implements Closeable {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final InputStream input;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int position;
+	private int limit;
+
+	/**
+	 * Constructs a new {@code MatrixFileReader} object for the specified input file.
+	 *
+	 * @param file the input file, optionally compressed with gzip
+	 * @throws IOException if the file cannot be opened
+	 */
+	public MatrixFileReader(File file) throws IOException {
+		this(new FileInputStream(file));
+	}
+
+	/**
+	 * Constructs a new {@code MatrixFileReader} object over the specified input stream.
+	 *
+	 * @param stream the input stream, optionally compressed with gzip
+	 * @throws IOException if the stream cannot be read
+	 */
+	public MatrixFileReader(InputStream stream) throws IOException {
+		BufferedInputStream buffered = new BufferedInputStream(stream, BUFFER_SIZE);
+		buffered.mark(2);
+		int first = buffered.read();
+		int second = buffered.read();
+		buffered.reset();
+		if (first == 0x1f && second == 0x8b)
+			this.input = new GZIPInputStream(buffered, BUFFER_SIZE);
+		else
+			this.input = buffered;
+	}
+
+	/**
+	 * Reads the next line of the file.
+	 *
+	 * @return the line, without the line terminator
+	 * @throws IOException if the file cannot be read
+	 * @throws NoSuchElementException if the end of the file was reached
+	 */
+	public String readLine() throws IOException {
+		if (!fill())
+			throw new NoSuchElementException("No line found");
+		byte[] line = new byte[64];
+		int length = 0;
+		while (fill()) {
+			byte b = buffer[position++];
+			if (b == '\n')
+				break;
+			if (length == line.length)
+				line = Arrays.copyOf(line, 2 * length);
+			line[length++] = b;
+		}
+		if (length > 0 && line[length-1] == '\r')
+			length--;
+		return new String(line, 0, length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads the adjacency matrix of the graph and builds the graph structure.
+	 * Every row must be on its own line and have exactly one weight per node.
+	 *
+	 * @param numNodes the number of nodes in the graph
+	 * @return the graph structure
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if the matrix is not concordant with the number of nodes or has negative weights
+	 * @throws NumberFormatException if a weight is not an integer
+	 * @throws NoSuchElementException if the file ends before the last row
+	 */
+	public IWeightedGraph readGraph(int numNodes) throws IOException {
+		GraphBuilder builder = new GraphBuilder(numNodes);
+		for (int i = 0; i < numNodes; i++) {
+			if (!fill())
+				throw new NoSuchElementException("No line found");
+			for (int j = 0; j < numNodes; j++) {
+				if (!skipBlanks())
+					throw new IllegalArgumentException("The number of nodes must be concordant with the graph structure");
+				int weight = readInt();
+				if (weight < 0)
+					throw new IllegalArgumentException("The graph must not have negative weights. Please correct edge (" + i + "," + j + ")");
+				if (j > i)
+					builder.addEdge(i + 1, j + 1, weight);
+			}
+			if (skipBlanks())
+				throw new IllegalArgumentException("The number of nodes must be concordant with the graph structure");
+			// Consume the line terminator
+			if (fill())
+				position++;
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Closes the input file.
+	 *
+	 * @throws IOException if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		input.close();
+	}
+
+	/**
+	 * Makes sure that the buffer has at least one unread byte.
+	 *
+	 * @return {@code true} if there is an unread byte, {@code false} at the end of the file
+	 * @throws IOException if the file cannot be read
+	 */
+	private boolean fill() throws IOException {
+		while (position == limit) {
+			limit = input.read(buffer, 0, buffer.length);
+			position = 0;
+			if (limit < 0) {
+				limit = 0;
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Skips the spaces before the next token of the current line.
+	 *
+	 * @return {@code true} if a token follows on the current line, {@code false} at the end of the line or file
+	 * @throws IOException if the file cannot be read
+	 */
+	private boolean skipBlanks() throws IOException {
+		while (fill()) {
+			byte b = buffer[position];
+			if (b == '\n')
+				return false;
+			if (b != ' ' && b != '\t' && b != '\r')
+				return true;
+			position++;
+		}
+		return false;
+	}
+
+	/**
+	 * Parses the integer token at the current position.
+	 *
+	 * @return the parsed integer
+	 * @throws IOException if the file cannot be read
+	 * @throws NumberFormatException if the token is not an integer
+	 */
+	private int readInt() throws IOException {
+		boolean negative = false;
+		if (buffer[position] == '-' || buffer[position] == '+') {
+			negative = buffer[position] == '-';
+			position++;
+		}
+		long value = 0;
+		int digits = 0;
+		while (fill()) {
+			byte b = buffer[position];
+			if (b >= '0' && b <= '9') {
+				value = value * 10 + (b - '0');
+				if (value > Integer.MAX_VALUE + 1L)
+					throw new NumberFormatException("Weight out of range");
+				digits++;
+				position++;
+			}
+			else if (b == ' ' || b == '\t' || b == '\r' || b == '\n')
+				break;
+			else
+				throw new NumberFormatException("Invalid weight");
+		}
+		if (digits == 0)
+			throw new NumberFormatException("Invalid weight");
+		value = negative ? -value : value;
+		if (value > Integer.MAX_VALUE)
+			throw new NumberFormatException("Weight out of range");
+		return (int) value;
+	}
+
+}
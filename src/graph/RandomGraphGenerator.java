@@ -0,0 +1,168 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code RandomGraphGenerator} class generates random undirected weighted graphs that contain a
+ * Hamiltonian cycle, as used by the {@code -r} command.
+ *
+ * A random Hamiltonian cycle is laid first. The number of edges of the graph is then drawn uniformly between
+ * the number of nodes and the number of possible edges, as in {@link UndirectedWeightedGraph}, and every other
+ * pair of nodes becomes an edge independently with the probability that gives that number of edges on average.
+ * The pairs of each row of the upper triangle are sampled by skipping a geometrically distributed number of
+ * pairs at a time, so there is no rejection loop and the work grows with the number of edges.
+ *
+ * Rows are generated in parallel, each one with its own random stream derived from the seed, so the same seed
+ * always gives the same graph whatever the number of threads.
+ *
+ * @see GraphBuilder
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class RandomGraphGenerator {
+
+	private final long seed;
+
+	/**
+	 * Constructs a new {@code RandomGraphGenerator} object with the specified seed.
+	 *
+	 * @param seed the seed of the random streams
+	 */
+	public RandomGraphGenerator(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Generates a random graph.
+	 *
+	 * @param numNodes the number of nodes in the graph
+	 * @param maxWeight the maximum weight of an edge
+	 * @return the generated graph
+	 * @throws IllegalArgumentException if the number of nodes or the maximum weight is not positive
+	 */
+	public IWeightedGraph generate(int numNodes, int maxWeight) {
+		if (numNodes < 1)
+			throw new IllegalArgumentException("The graph must have at least one node");
+		if (maxWeight < 1)
+			throw new IllegalArgumentException("The maximum weight must be positive");
+
+		SplittableRandom random = new SplittableRandom(seed);
+
+		// Random Hamiltonian cycle, as a random permutation of the nodes
+		int[] cycle = new int[numNodes];
+		for (int i = 0; i < numNodes; i++) {
+			cycle[i] = i + 1;
+		}
+		for (int i = numNodes - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int swap = cycle[i];
+			cycle[i] = cycle[j];
+			cycle[j] = swap;
+		}
+
+		// Neighbours of every node along the cycle and the weights of the cycle edges
+		int[] cycleNext = new int[numNodes];
+		int[] cyclePrevious = new int[numNodes];
+		int[] nextWeight = new int[numNodes];
+		for (int i = 0; i < numNodes && numNodes > 1; i++) {
+			int node = cycle[i];
+			int next = cycle[(i + 1) % numNodes];
+			cycleNext[node-1] = next;
+			cyclePrevious[next-1] = node;
+			nextWeight[node-1] = random.nextInt(maxWeight) + 1;
+		}
+
+		// Probability of every other pair being an edge
+		long possibleEdges = (long) numNodes * (numNodes - 1) / 2;
+		long cycleEdges = (numNodes < 3) ? numNodes - 1 : numNodes;
+		long extraPairs = possibleEdges - cycleEdges;
+		double probability = 0;
+		if (extraPairs > 0) {
+			long extraEdges = (long) (random.nextDouble() * (extraPairs + 1));
+			probability = (double) extraEdges / extraPairs;
+		}
+
+		long[] rowSeeds = new long[numNodes];
+		for (int i = 0; i < numNodes; i++) {
+			rowSeeds[i] = random.nextLong();
+		}
+
+		// Every row holds the neighbours greater than its node, in increasing order
+		int[][] rowEnds = new int[numNodes][];
+		int[][] rowWeights = new int[numNodes][];
+		final double p = probability;
+		IntStream.range(0, numNodes).parallel().forEach(i -> {
+			SplittableRandom rowRandom = new SplittableRandom(rowSeeds[i]);
+			int node = i + 1;
+			int cycleLow = Math.min(cycleNext[i], cyclePrevious[i]);
+			int cycleHigh = Math.max(cycleNext[i], cyclePrevious[i]);
+			int[] ends = new int[8];
+			int[] weights = new int[8];
+			int count = 0;
+			int sampled = nextSample(rowRandom, p, node, numNodes);
+
+			for (int end = node + 1; end < numNodes + 1; ) {
+				boolean isCycle = (end == cycleLow || end == cycleHigh);
+				if (!isCycle && end != sampled) {
+					// Jump to the next node that is either on the cycle or sampled
+					int next = sampled;
+					if (cycleLow > end && cycleLow < next)
+						next = cycleLow;
+					if (cycleHigh > end && cycleHigh < next)
+						next = cycleHigh;
+					end = next;
+					continue;
+				}
+				if (count == ends.length) {
+					ends = Arrays.copyOf(ends, 2 * count);
+					weights = Arrays.copyOf(weights, 2 * count);
+				}
+				ends[count] = end;
+				if (isCycle)
+					weights[count] = (cycleNext[i] == end) ? nextWeight[i] : nextWeight[end-1];
+				else
+					weights[count] = rowRandom.nextInt(maxWeight) + 1;
+				count++;
+				if (end == sampled)
+					sampled = nextSample(rowRandom, p, sampled, numNodes);
+				end++;
+			}
+			rowEnds[i] = Arrays.copyOf(ends, count);
+			rowWeights[i] = Arrays.copyOf(weights, count);
+		});
+
+		GraphBuilder builder = new GraphBuilder(numNodes);
+		for (int i = 0; i < numNodes; i++) {
+			for (int k = 0; k < rowEnds[i].length; k++) {
+				builder.addEdge(i + 1, rowEnds[i][k], rowWeights[i][k]);
+			}
+			rowEnds[i] = null;
+			rowWeights[i] = null;
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Returns the next sampled node of a row, skipping a geometrically distributed number of nodes.
+	 *
+	 * @param random the random stream of the row
+	 * @param probability the probability of every pair being sampled
+	 * @param previous the previous sampled node, or the node of the row
+	 * @param numNodes the number of nodes in the graph
+	 * @return the next sampled node, or a number greater than {@code numNodes} if there is none
+	 */
+	private static int nextSample(SplittableRandom random, double probability, int previous, int numNodes) {
+		if (probability <= 0)
+			return numNodes + 1;
+		if (probability >= 1)
+			return previous + 1;
+		double skip = Math.floor(Math.log(1.0 - random.nextDouble()) / Math.log(1.0 - probability));
+		return (int) Math.min(previous + 1 + skip, numNodes + 1);
+	}
+
+}
@@ -0,0 +1,98 @@
+package graph;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+
+/**
+ * The {@code TsplibReader} class reads symmetric TSP instances in the TSPLIB format with a
+ * {@code NODE_COORD_SECTION} and builds a {@link CoordinateWeightedGraph} from them.
+ *
+ * The supported edge weight types are {@code EUC_2D}, {@code CEIL_2D}, {@code ATT} and {@code GEO}.
+ * Other specification keywords, such as {@code NAME} or {@code COMMENT}, are ignored.
+ *
+ * @see CoordinateWeightedGraph
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class TsplibReader {
+
+	/**
+	 * Private constructor, this class only has static methods.
+	 */
+	private TsplibReader() {
+	}
+
+	/**
+	 * Reads a TSPLIB file.
+	 *
+	 * @param file the TSPLIB file
+	 * @param cacheSize the maximum number of cached distances of the graph, or 0 for no cache
+	 * @return the graph of the instance
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not a supported TSPLIB instance
+	 */
+	public static CoordinateWeightedGraph read(File file, int cacheSize) throws IOException {
+		try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+			int dimension = -1;
+			CoordinateWeightedGraph.Metric metric = null;
+			String line;
+
+			// Specification part
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (line.startsWith("NODE_COORD_SECTION"))
+					break;
+				int colon = line.indexOf(':');
+				String keyword = (colon < 0) ? line : line.substring(0, colon).trim();
+				String value = (colon < 0) ? "" : line.substring(colon + 1).trim();
+
+				if (keyword.equals("TYPE") && !value.equals("TSP"))
+					throw new IllegalArgumentException("Only symmetric TSP instances are supported");
+				else if (keyword.equals("DIMENSION"))
+					dimension = Integer.parseInt(value);
+				else if (keyword.equals("EDGE_WEIGHT_TYPE")) {
+					try {
+						metric = CoordinateWeightedGraph.Metric.valueOf(value);
+					}
+					catch (IllegalArgumentException e) {
+						throw new IllegalArgumentException("Unsupported edge weight type " + value);
+					}
+				}
+				else if (keyword.equals("EOF"))
+					break;
+			}
+			if (line == null || !line.startsWith("NODE_COORD_SECTION"))
+				throw new IllegalArgumentException("The file has no NODE_COORD_SECTION");
+			if (dimension < 1)
+				throw new IllegalArgumentException("The file has no valid DIMENSION");
+			if (metric == null)
+				throw new IllegalArgumentException("The file has no EDGE_WEIGHT_TYPE");
+
+			// Data part
+			double[] x = new double[dimension];
+			double[] y = new double[dimension];
+			boolean[] read = new boolean[dimension];
+			for (int i = 0; i < dimension; i++) {
+				line = reader.readLine();
+				if (line == null || line.trim().equals("EOF"))
+					throw new IllegalArgumentException("The number of cities must be concordant with the DIMENSION");
+				String[] fields = line.trim().split("\\s+");
+				if (fields.length < 3)
+					throw new IllegalArgumentException("Invalid city line: " + line);
+				int node = Integer.parseInt(fields[0]);
+				if (node < 1 || node > dimension || read[node-1])
+					throw new IllegalArgumentException("Invalid city number " + node);
+				read[node-1] = true;
+				x[node-1] = Double.parseDouble(fields[1]);
+				y[node-1] = Double.parseDouble(fields[2]);
+			}
+			return new CoordinateWeightedGraph(metric, x, y, cacheSize);
+		}
+	}
+
+}
@@ -1,8 +1,8 @@
 package graph;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * The {@code UndirectedWeightedGraph} class represents an undirected graph of vertices named 1 through V.
@@ -21,10 +21,9 @@ import java.util.Random;
 public class UndirectedWeightedGraph implements IWeightedGraph {
 
 	private int nodes;
-	private int totalWeight;
+	private long totalWeight;
 	private ArrayList<Edge>[] adjacencyLists;
-
-	private static UndirectedWeightedGraph instance;
+	private int[] adjacencyOffsets;
 
 	/**
 	 * Constructs a new {@code UndirectedWeightedGraph} object with the specified number of nodes and maximum weight.
@@ -32,14 +31,26 @@ public class UndirectedWeightedGraph implements IWeightedGraph {
 	 * @param nodes the number of nodes in the graph
 	 * @param maxWeight the maximum weight of an edge
 	 */
-	private UndirectedWeightedGraph(int nodes, int maxWeight) {
+	public UndirectedWeightedGraph(int nodes, int maxWeight) {
+		this(nodes, maxWeight, new SplittableRandom());
+	}
+
+	/**
+	 * Constructs a new random {@code UndirectedWeightedGraph} object drawn from the specified random generator.
+	 *
+	 * @param nodes the number of nodes in the graph
+	 * @param maxWeight the maximum weight of an edge
+	 * @param random the random generator of the graph
+	 */
+	public UndirectedWeightedGraph(int nodes, int maxWeight, RandomGenerator random) {
 		this.nodes = nodes;
 		this.totalWeight = 0;
 		this.adjacencyLists = (ArrayList<Edge>[]) new ArrayList<?>[nodes];
 		for (int i = 0; i < nodes; i++) {
 			this.adjacencyLists[i] = new ArrayList<>();
 		}
-		this.buildGraph(nodes, maxWeight);
+		this.buildGraph(nodes, maxWeight, random);
+		this.buildAdjacencyOffsets();
 	}
 
 	/**
@@ -48,7 +59,7 @@ public class UndirectedWeightedGraph implements IWeightedGraph {
 	 * @param nodes the number of nodes in the graph
 	 * @param matrix the adjacency matrix representing the graph
 	 */
-	private UndirectedWeightedGraph(int nodes, int[][] matrix) {
+	public UndirectedWeightedGraph(int nodes, int[][] matrix) {
 		this.nodes = nodes;
 		this.totalWeight = 0;
 		this.adjacencyLists = (ArrayList<Edge>[]) new ArrayList<?>[nodes];
@@ -56,34 +67,29 @@ public class UndirectedWeightedGraph implements IWeightedGraph {
 			adjacencyLists[i] = new ArrayList<>();
 		}
 		this.buildGraph(nodes, matrix);
+		this.buildAdjacencyOffsets();
 	}
 
 	/**
-	 * Returns an instance of {@code UndirectedWeightedGraph} with the specified number of nodes and maximum weight.
+	 * Returns a new instance of {@code UndirectedWeightedGraph} with the specified number of nodes and maximum weight.
 	 *
 	 * @param nodes the number of nodes in the graph
 	 * @param maxWeight the maximum weight of an edge
-	 * @return an instance of {@code UndirectedWeightedGraph}
+	 * @return a new instance of {@code UndirectedWeightedGraph}
 	 */
 	public static UndirectedWeightedGraph getInstance(int nodes, int maxWeight) {
-		if (instance == null) {
-			instance = new UndirectedWeightedGraph(nodes, maxWeight);
-		}
-		return instance;
+		return new UndirectedWeightedGraph(nodes, maxWeight);
 	}
 
 	/**
-	 * Returns an instance of {@code UndirectedWeightedGraph} with the specified number of nodes and adjacency matrix.
+	 * Returns a new instance of {@code UndirectedWeightedGraph} with the specified number of nodes and adjacency matrix.
 	 *
 	 * @param nodes the number of nodes in the graph
 	 * @param matrix the adjacency matrix representing the graph
-	 * @return an instance of {@code UndirectedWeightedGraph}
+	 * @return a new instance of {@code UndirectedWeightedGraph}
 	 */
 	public static UndirectedWeightedGraph getInstance(int nodes, int[][] matrix) {
-		if (instance == null) {
-			instance = new UndirectedWeightedGraph(nodes, matrix);
-		}
-		return instance;
+		return new UndirectedWeightedGraph(nodes, matrix);
 	}
 
 	/**
@@ -101,7 +107,7 @@ public class UndirectedWeightedGraph implements IWeightedGraph {
 	 *
 	 * @return the total weight of the graph
 	 */
-	public int getGraphWeight() {
+	public long getGraphWeight() {
 		return totalWeight;
 	} 
 
@@ -139,6 +145,73 @@ public class UndirectedWeightedGraph implements IWeightedGraph {
 		return adjacentNodes;
 	}
 
+	/**
+	 * Returns the number of nodes adjacent to the specified node.
+	 *
+	 * @param node the node for which to retrieve the degree
+	 * @return the number of adjacent nodes
+	 */
+	public int getDegree(int node) {
+		return adjacencyLists[node-1].size();
+	}
+
+	/**
+	 * Returns the adjacent node of the specified node at the given position.
+	 *
+	 * @param node the node for which to retrieve the adjacent node
+	 * @param index the position of the adjacent node
+	 * @return the adjacent node
+	 */
+	public int getAdjacentNode(int node, int index) {
+		return adjacencyLists[node-1].get(index).getEndNode();
+	}
+
+	/**
+	 * Returns the weight of the edge between the specified node and its adjacent node at the given position.
+	 *
+	 * @param node the node for which to retrieve the edge weight
+	 * @param index the position of the adjacent node
+	 * @return the weight of the edge
+	 */
+	public int getAdjacentWeight(int node, int index) {
+		return adjacencyLists[node-1].get(index).getWeight();
+	}
+
+	/**
+	 * Returns the position of an adjacent node in the neighbourhood of the specified node.
+	 *
+	 * @param node the node for which to retrieve the position
+	 * @param adjacentNode the adjacent node
+	 * @return the position of the adjacent node, or -1 if the nodes are not adjacent
+	 */
+	public int getAdjacentIndex(int node, int adjacentNode) {
+		ArrayList<Edge> nodeList = adjacencyLists[node-1];
+		for (int i = 0; i < nodeList.size(); i++) {
+			if (nodeList.get(i).getEndNode() == adjacentNode)
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the slot of the first edge of the specified node in the adjacency layout.
+	 *
+	 * @param node the node for which to retrieve the offset
+	 * @return the slot of the first edge of the node
+	 */
+	public int getAdjacencyOffset(int node) {
+		return adjacencyOffsets[node-1];
+	}
+
+	/**
+	 * Returns the number of slots of the adjacency layout.
+	 *
+	 * @return twice the number of edges
+	 */
+	public int getAdjacencySize() {
+		return adjacencyOffsets[nodes];
+	}
+
 	/**
 	 * Prints the graph representation.
 	 */ 
@@ -177,6 +250,16 @@ public class UndirectedWeightedGraph implements IWeightedGraph {
 		this.totalWeight+=weight;
 	}
 
+	/**
+	 * Computes the slot of the first edge of every node from the sizes of the adjacency lists.
+	 */
+	private void buildAdjacencyOffsets() {
+		this.adjacencyOffsets = new int[nodes + 1];
+		for (int i = 0; i < nodes; i++) {
+			adjacencyOffsets[i + 1] = adjacencyOffsets[i] + adjacencyLists[i].size();
+		}
+	}
+
 	// return the edge
 	private Edge getEdge(int startNode, int endNode) {
 		for (Edge edge : adjacencyLists[startNode-1]) {
@@ -191,8 +274,9 @@ public class UndirectedWeightedGraph implements IWeightedGraph {
 	 *
 	 * @param numNodes the number of nodes in the graph
 	 * @param maxWeight the maximum weight of an edge
+	 * @param random the random generator of the graph
 	 */
-	private void buildGraph(int numNodes, int maxWeight) {
+	private void buildGraph(int numNodes, int maxWeight, RandomGenerator random) {
 
 		ArrayList<Integer> hamiltonianCycle = new ArrayList<>(numNodes+1); 
 
@@ -200,12 +284,15 @@ public class UndirectedWeightedGraph implements IWeightedGraph {
 			hamiltonianCycle.add(i);
 		}
 
-		Collections.shuffle(hamiltonianCycle);
+		// shuffle the nodes with the Fisher-Yates algorithm
+		for(int i = numNodes-1; i > 0; i--) {
+			int j = random.nextInt(i+1);
+			hamiltonianCycle.set(i, hamiltonianCycle.set(j, hamiltonianCycle.get(i)));
+		}
 		hamiltonianCycle.add(hamiltonianCycle.get(0)); // add the first element of the list to the end to create a cycle
 
 		int node1;
 		int node2;
-		Random random = new Random();
 		int weight;
 
 		// add the hamiltonian cycle to the graph structure
@@ -0,0 +1,77 @@
+package graph;
+
+/**
+ * The {@code WeightedGraphFactory} class selects the storage of a weighted graph from its edge density.
+ *
+ * Graphs where at least {@link #DENSITY_THRESHOLD} of all the possible edges are present are stored in a
+ * {@link DenseWeightedGraph}, which has constant time weight lookups. Sparser graphs are stored in a
+ * {@link CompressedWeightedGraph}, whose memory grows with the number of edges instead of the number of nodes squared.
+ *
+ * @see DenseWeightedGraph
+ * @see CompressedWeightedGraph
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class WeightedGraphFactory {
+
+	/**
+	 * Fraction of the possible edges above which the dense representation is used.
+	 */
+	public static final double DENSITY_THRESHOLD = 0.5;
+
+	/**
+	 * Private constructor, this class only has static methods.
+	 */
+	private WeightedGraphFactory() {
+	}
+
+	/**
+	 * Returns the fraction of the possible edges of an undirected graph that are present.
+	 *
+	 * @param nodes the number of nodes in the graph
+	 * @param numEdges the number of edges in the graph
+	 * @return the edge density of the graph, between 0 and 1
+	 */
+	public static double getDensity(int nodes, long numEdges) {
+		if (nodes < 2)
+			return 1;
+		return numEdges / ((double) nodes * (nodes - 1) / 2);
+	}
+
+	/**
+	 * Checks if a graph with the given density should use the dense representation.
+	 *
+	 * @param nodes the number of nodes in the graph
+	 * @param numEdges the number of edges in the graph
+	 * @return {@code true} if the dense representation should be used, {@code false} otherwise
+	 */
+	public static boolean isDense(int nodes, long numEdges) {
+		return getDensity(nodes, numEdges) >= DENSITY_THRESHOLD
+				&& (long) nodes * nodes <= Integer.MAX_VALUE - 8;
+	}
+
+	/**
+	 * Creates a weighted graph from an adjacency matrix, choosing the representation from its edge density.
+	 * Only the upper triangle of the matrix is read.
+	 *
+	 * @param nodes the number of nodes in the graph
+	 * @param matrix the adjacency matrix representing the graph
+	 * @return the weighted graph
+	 */
+	public static IWeightedGraph createGraph(int nodes, int[][] matrix) {
+		long numEdges = 0;
+		for (int i = 0; i < nodes; i++) {
+			for (int j = i + 1; j < nodes; j++) {
+				if (matrix[i][j] != 0)
+					numEdges++;
+			}
+		}
+		if (isDense(nodes, numEdges))
+			return new DenseWeightedGraph(nodes, matrix);
+		return new CompressedWeightedGraph(nodes, matrix);
+	}
+
+}
@@ -6,14 +6,17 @@ import eventqueue.*;
 import distribution.*;
 
 import java.io.File;
-import java.util.Scanner;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import ao.*;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.lang.NumberFormatException;
 import java.lang.IllegalArgumentException;
 import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
 import java.lang.ArrayIndexOutOfBoundsException;
 
 /**
@@ -42,131 +45,74 @@ public class Main {
 
         // Read and validate the command
 		int command = readCommand(args);
-		
+
 		// Invalid command
 		if(command == -1)
 			return; // Exit if the command is invalid
-			
-		else if(command == 0) {
+
+		// Read and validate the options of the run before anything is printed
+		Options options;
+		try {
+			options = new Options();
+		}
+		catch (IllegalArgumentException e) {
+			System.out.println("Invalid option. " + e.getMessage());
+			return;
+		}
+
+		// Every random stream of the run is split from a single generator, seeded by the aco.seed system property
+		SplittableRandom random = new SplittableRandom(options.getSeed());
+
+		if(command == 0) {
 			// Perform the -r command
 			try {
 				// Parse the input parameters
 				int numNodes = Integer.parseInt(args[1]);
 				int maxWeight = Integer.parseInt(args[2]);
-				int nestNode = Integer.parseInt(args[3]);
-				double alpha = Double.parseDouble(args[4]);
-				double beta = Double.parseDouble(args[5]);
-				double delta = Double.parseDouble(args[6]);
-				double eta = Double.parseDouble(args[7]);
-				double rho = Double.parseDouble(args[8]);
-				double gamma = Double.parseDouble(args[9]);
-				int colonySize = Integer.parseInt(args[10]);
-				double tau = Double.parseDouble(args[11]);
 				 
-				// Select the graph
-				UndirectedWeightedGraph graph = UndirectedWeightedGraph.getInstance(numNodes, maxWeight);
-				
-				// Print the input parameters    
-				printInput(numNodes, nestNode, alpha, beta, delta, eta, rho, gamma, colonySize, tau, graph);
-				
-				// Select the optimization algorithm
-				AntOptimizationAlgorithm algorithm = new AntColonyOptimization();
-				
-				// Select ant structure
-				IAntFactory ant = new Ant(nestNode, graph, null, null);
-				
-				// Select the colony structure
-				IColony colony = new Colony(colonySize, nestNode, numNodes, ant, graph, algorithm);
-				
-				// Select the queue structure
-				EventQueue pec = new PEC();
-				
-				// Select the distribution strategy
-				DistributionStrategy distributionStrategy = new ExponentialDistributionStrategy(delta);
-				
-				// Initialize simulator  
-				ColonySimulator simulator = new ColonySimulator(alpha, beta, delta, eta, rho, gamma, tau, colony, pec, distributionStrategy);  
-				colony.addObserver(simulator);
-				// Run simulation
-				simulator.simulate();      
+				// Generate the graph with a seed drawn from the random generator of the run
+				IWeightedGraph graph = new RandomGraphGenerator(random.nextLong()).generate(numNodes, maxWeight);
+
+				// The simulation parameters are the arguments, without the maximum weight
+				String[] parameters = new String[10];
+				parameters[0] = args[1];
+				System.arraycopy(args, 3, parameters, 1, 9);
+
+				// Run the simulation
+				runSimulation(parameters, graph, random, options);
 			}
 			catch (NumberFormatException e) {
 				System.out.println("Invalid parameters for -r command. " 
 						+ "Please verify that the command structure is correct.");
 			}
+			catch (IllegalArgumentException e) {
+				System.out.println("Invalid parameters for -r command. " + e.getMessage());
+			}
 			return;
 		}
-		else {
+		else if(command == 1) {
 			// Perform the -f command
 			String inputFile = args[1];
-			Scanner scanner = null;
+			MatrixFileReader reader = null;
 			try {
 				File file = new File(inputFile);
-				scanner = new Scanner(file);
+				reader = new MatrixFileReader(file);
 				
 				// Read the first line containing the simulation parameters
-				String parametersLine = scanner.nextLine();
-				String[] parameters = parametersLine.split("\\s+");
-
-				int numNodes = Integer.parseInt(parameters[0]);
-				int nestNode = Integer.parseInt(parameters[1]);
-				double alpha = Double.parseDouble(parameters[2]);
-				double beta = Double.parseDouble(parameters[3]);
-				double delta = Double.parseDouble(parameters[4]);
-				double eta = Double.parseDouble(parameters[5]);
-				double rho = Double.parseDouble(parameters[6]);
-				double gamma = Double.parseDouble(parameters[7]);
-				int colonySize = Integer.parseInt(parameters[8]);
-				double tau = Double.parseDouble(parameters[9]);  	
-
-				// Initialization of local variables
-				int[][] matrix = new int[numNodes][numNodes];
-				int weight = 0;
-
-				// Read the weight matrix containing the graph structure and store it in matrix
-				for (int i = 0; i < numNodes; i++) {
-					String[] weights = scanner.nextLine().trim().split("\\s+");
-					if (weights.length != numNodes)
-						throw new IllegalArgumentException("The number of nodes must be concordant with the graph structure");
-
-					for (int j = 0; j < numNodes; j++) {
-						weight = Integer.parseInt(weights[j]);
-						if(weight < 0) 
-							throw new IllegalArgumentException("The graph must not have negative weights. Please correct edge (" + i + "," + j + ")");
-						matrix[i][j] = weight;
-					}
-				}
-
-				// Select the graph
-				UndirectedWeightedGraph graph = UndirectedWeightedGraph.getInstance(numNodes, matrix);
-				
-				// Print the input parameters
-				printInput(numNodes, nestNode, alpha, beta, delta, eta, rho, gamma, colonySize, tau, graph);
-				
-				// Select the optimization algorithm        
-				AntOptimizationAlgorithm algorithm = new AntColonyOptimization(); 
+				String[] parameters = reader.readLine().trim().split("\\s+");
+
+				// Read the weight matrix containing the graph structure
+				IWeightedGraph graph = reader.readGraph(Integer.parseInt(parameters[0]));
 
-				// Select the ant structure
-				IAntFactory ant = new Ant(nestNode, graph, null, null); 
-				
-				// Create the colony structure
-				IColony colony = new Colony(colonySize, nestNode, numNodes, ant, graph, algorithm);
-				
-				 // Select the queue structure      
-				EventQueue pec = new PEC();     
-				
-				// Select the distribution strategy
-				DistributionStrategy distributionStrategy = new ExponentialDistributionStrategy(delta);
-				
-				// Initialize the simulator        
-				ColonySimulator simulator = new ColonySimulator(alpha, beta, delta, eta, rho, gamma, tau, colony, pec, distributionStrategy); 
-				colony.addObserver(simulator);
 				// Run the simulation
-				simulator.simulate();
+				runSimulation(parameters, graph, random, options);
 			}
 			catch (FileNotFoundException e) {
 				System.out.println("Input file not found: " + inputFile);
 			}
+			catch (IOException e) {
+				System.out.println("Unable to read input file: " + inputFile);
+			}
 			catch (NumberFormatException e) {
 				System.out.println("Invalid parameters for -f command. " 
 						+ "Verify that the file has the correct data types for the parameters.");
@@ -183,17 +129,327 @@ public class Main {
 						+ "Verify that the file is not empty.");
 			}
 			finally {
-				if (scanner != null)
-					scanner.close();
+				closeQuietly(reader);
+			}
+		}
+		else if(command == 4) {
+			// Perform the -t command
+			String inputFile = args[1];
+			try {
+				// Read the cities of the TSPLIB instance
+				CoordinateWeightedGraph graph = TsplibReader.read(new File(inputFile), options.getDistanceCache());
+
+				// The simulation parameters follow the file name, without the number of nodes
+				String[] parameters = new String[10];
+				parameters[0] = String.valueOf(graph.getNumNodes());
+				System.arraycopy(args, 2, parameters, 1, 9);
+
+				// Run the simulation
+				runSimulation(parameters, graph, random, options);
+			}
+			catch (FileNotFoundException e) {
+				System.out.println("Input file not found: " + inputFile);
+			}
+			catch (IOException e) {
+				System.out.println("Unable to read input file: " + inputFile);
+			}
+			catch (NumberFormatException e) {
+				System.out.println("Invalid parameters for -t command. " 
+						+ "Please verify that the command structure is correct.");
+			}
+			catch (IllegalArgumentException e) {
+				System.out.println("Invalid TSPLIB instance. " + e.getMessage());
+			}
+		}
+		else if(command == 2) {
+			// Perform the -b command
+			String inputFile = args[1];
+			try {
+				// Map the graph file, its header holds the simulation parameters
+				MappedWeightedGraph graph = BinaryGraphFile.open(Paths.get(inputFile));
+
+				// Run the simulation
+				runSimulation(graph.getParameters().split("\\s+"), graph, random, options);
+			}
+			catch (IOException e) {
+				System.out.println("Unable to read graph file: " + inputFile);
+			}
+			catch (NumberFormatException e) {
+				System.out.println("Invalid parameters for -b command. " 
+						+ "Verify that the graph file was converted from a valid input file.");
+			}
+			catch (IllegalArgumentException e) {
+				System.out.println("Invalid graph file. " + e.getMessage());
+			}
+			catch(ArrayIndexOutOfBoundsException e) {
+				System.out.println("Insufficient parameters for -b command. " 
+						+ "Verify that the graph file was converted from a valid input file.");
+			}
+		}
+		else {
+			// Perform the -c command
+			String inputFile = args[1];
+			Path outputFile = Paths.get(args[2]);
+			MatrixFileReader reader = null;
+			try {
+				reader = new MatrixFileReader(new File(inputFile));
+
+				// Read the input file the same way as the -f command
+				String parametersLine = reader.readLine();
+				String[] parameters = parametersLine.trim().split("\\s+");
+				IWeightedGraph graph = reader.readGraph(Integer.parseInt(parameters[0]));
+
+				// Write the graph file
+				BinaryGraphFile.write(graph, parametersLine, outputFile);
+				System.out.println("Graph file written to " + outputFile);
+			}
+			catch (FileNotFoundException e) {
+				System.out.println("Input file not found: " + inputFile);
+			}
+			catch (IOException e) {
+				System.out.println("Unable to convert to graph file: " + outputFile);
+			}
+			catch (NumberFormatException e) {
+				System.out.println("Invalid parameters for -c command. " 
+						+ "Verify that the file has the correct data types for the parameters.");
+			}
+			catch (IllegalArgumentException e) {
+				System.out.println("Invalid graph structure. " + e.getMessage());
+			}
+			catch (NoSuchElementException e) {
+				System.out.println("Insufficient parameters for -c command. " 
+						+ "Verify that the file is not empty.");
+			}
+			finally {
+				closeQuietly(reader);
+			}
+		}
+	}
+
+	/**
+	 * Closes an input file reader, ignoring any error since the file was only read.
+	 *
+	 * @param reader the reader to close, or {@code null}
+	 */
+	private static void closeQuietly(MatrixFileReader reader) {
+		if (reader == null)
+			return;
+		try {
+			reader.close();
+		}
+		catch (IOException e) {
+			// Nothing left to read
+		}
+	}
+
+	/**
+	 * Creates the optimization algorithm. When the {@code aco.candidates} system property is set to a positive
+	 * number k, the candidate lists of the k nearest neighbours of every node are built for the graph.
+	 * When the {@code aco.selection} system property is {@code fenwick}, ants draw among the neighbours of nodes
+	 * with at least {@code aco.selection.minDegree} neighbours (64 by default) with Fenwick trees.
+	 *
+	 * @param graph   the graph structure
+	 * @param options the options of the run
+	 * @return the optimization algorithm
+	 * @throws IllegalArgumentException if the candidate lists do not fit the graph
+	 */
+	private static AntOptimizationAlgorithm createAlgorithm(IWeightedGraph graph, Options options) {
+		int numCandidates = options.getNumCandidates();
+		CandidateLists candidates = (numCandidates > 0) ? new CandidateLists(graph, numCandidates) : null;
+
+		if (options.isFenwickSelection())
+			return new AntColonyOptimization(candidates, new FenwickSelection(graph, options.getMinDegree()));
+		return new AntColonyOptimization(candidates);
+	}
+
+	/**
+	 * Creates the store of the pheromone levels. The {@code aco.pheromones} system property selects where the levels
+	 * are kept: {@code matrix} (the default) uses a matrix with one entry per pair of nodes, {@code edge} uses one
+	 * slot per edge, laid out like the adjacency of the graph, so that sparse graphs with many nodes fit in memory,
+	 * {@code triangular} uses one entry per pair of nodes shared by both directions, in single precision when the
+	 * {@code aco.pheromones.float} system property is {@code true}, which rounds the levels and changes the
+	 * results, {@code offheap} uses a matrix outside the Java heap, and {@code sparse} uses a hash table of the
+	 * edges with pheromones. The off-heap matrix is mapped
+	 * to the file given by the {@code aco.pheromones.file} system property when it is set, which also makes
+	 * {@code offheap} the default. On graphs too large to be indexed by their adjacency, {@code sparse} is the
+	 * default and the matrix and edge stores are rejected.
+	 *
+	 * @param graph   the graph structure
+	 * @param indexed whether the adjacency of the graph can be indexed
+	 * @param options the options of the run
+	 * @return the pheromone store
+	 * @throws IOException if the pheromone file cannot be mapped
+	 * @throws IllegalArgumentException if the pheromone store does not fit the graph, or the pheromone file does not match it
+	 */
+	private static PheromoneStore createPheromoneStore(IWeightedGraph graph, boolean indexed, Options options) throws IOException {
+		String file = options.getPheromoneFile();
+		String store = options.getPheromoneStore(indexed);
+		if (!indexed && (store.equals("matrix") || store.equals("edge")))
+			throw new IllegalArgumentException("The graph has too many nodes for a " + store + " pheromone store, use a sparse one");
+		if (store.equals("sparse"))
+			return new SparsePheromoneStore(graph);
+		if (store.equals("matrix"))
+			return new MatrixPheromoneStore(graph);
+		if (store.equals("edge"))
+			return new EdgePheromoneStore(graph);
+		if (store.equals("triangular"))
+			return new TriangularPheromoneStore(graph, options.isSinglePrecision());
+		return (file != null) ? new OffHeapPheromoneStore(graph, Paths.get(file)) : new OffHeapPheromoneStore(graph);
+	}
+
+	/**
+	 * Checks whether the adjacency of a graph can be indexed, which fails for complete graphs of more than
+	 * 46340 nodes, whose number of edges and directions does not fit in an {@code int}.
+	 *
+	 * @param graph the graph structure
+	 * @return true if the adjacency can be indexed, false otherwise
+	 */
+	private static boolean isAdjacencyIndexed(IWeightedGraph graph) {
+		try {
+			graph.getAdjacencySize();
+			return true;
+		}
+		catch (IllegalStateException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Creates the event queue selected by the aco.queue system property: the priority queue of the
+	 * Java collections (default), a 4-ary heap over primitive arrays, or a calendar queue whose buckets
+	 * start as wide as delta, the scale of the move times.
+	 *
+	 * @param delta   the parameter concerning the ant move event
+	 * @param options the options of the run
+	 * @return the event queue
+	 */
+	private static EventQueue createEventQueue(double delta, Options options) {
+		String queue = options.getQueue();
+		if (queue.equals("heap"))
+			return new HeapEventQueue();
+		if (queue.equals("calendar"))
+			return new CalendarQueue((delta > 0 && !Double.isInfinite(delta)) ? delta : 1.0);
+		return new PEC();
+	}
+
+	/**
+	 * Schedules the evaporation of the pheromones already present in the store when the simulation starts,
+	 * which happens when the levels were loaded from a pheromone file.
+	 *
+	 * @param colony     the colony
+	 * @param graph      the graph structure
+	 * @param pheromones the pheromone store of the colony
+	 */
+	private static void scheduleLoadedLevels(IColony colony, IWeightedGraph graph, PheromoneStore pheromones) {
+		if (!(pheromones instanceof OffHeapPheromoneStore) || !((OffHeapPheromoneStore) pheromones).isLoaded())
+			return;
+		for (int node = 1; node < graph.getNumNodes() + 1; node++) {
+			for (int i = 0; i < graph.getDegree(node); i++) {
+				int adjacentNode = graph.getAdjacentNode(node, i);
+				if (node < adjacentNode && colony.getAdjacentLevel(node, i) > 0)
+					colony.notifyObservers(node, adjacentNode);
 			}
 		}
 	}
 
+	/**
+	 * Parses the simulation parameters of an input file and runs the simulation on the given graph.
+	 *
+	 * @param parameters the simulation parameters, in the order of the first line of the input file
+	 * @param graph      the graph structure
+	 * @param random     the generator the random streams of the ants, evaporations and distribution are split from
+	 * @param options    the options of the run
+	 * @throws IllegalArgumentException if the number of nodes is not concordant with the graph structure
+	 */
+	private static void runSimulation(String[] parameters, IWeightedGraph graph, SplittableRandom random, Options options) {
+		int numNodes = Integer.parseInt(parameters[0]);
+		int nestNode = Integer.parseInt(parameters[1]);
+		double alpha = Double.parseDouble(parameters[2]);
+		double beta = Double.parseDouble(parameters[3]);
+		double delta = Double.parseDouble(parameters[4]);
+		double eta = Double.parseDouble(parameters[5]);
+		double rho = Double.parseDouble(parameters[6]);
+		double gamma = Double.parseDouble(parameters[7]);
+		int colonySize = Integer.parseInt(parameters[8]);
+		double tau = Double.parseDouble(parameters[9]);  	
+
+		if (numNodes != graph.getNumNodes())
+			throw new IllegalArgumentException("The number of nodes must be concordant with the graph structure");
+
+		// Build what depends on the options before printing, so that an option the graph cannot take is reported
+		// as such. The options that keep a slot per edge and direction need the adjacency of the graph to be indexed.
+		boolean indexed = isAdjacencyIndexed(graph);
+		String evaporation = options.getEvaporation();
+		AntOptimizationAlgorithm algorithm;
+		PheromoneStore store;
+		try {
+			if (!indexed && options.needsIndexedAdjacency())
+				throw new IllegalArgumentException("The graph has too many edges for aco.choiceInfo, aco.selection=fenwick, aco.evaporation=lazy or aco.evaporation=sweep");
+			algorithm = createAlgorithm(graph, options);
+			store = createPheromoneStore(graph, indexed, options);
+		}
+		catch (IllegalArgumentException e) {
+			System.out.println("Invalid option. " + e.getMessage());
+			return;
+		}
+		catch (IOException e) {
+			System.out.println("Unable to map pheromone file: " + options.getPheromoneFile());
+			return;
+		}
+
+		// Print the input parameters
+		printInput(numNodes, nestNode, alpha, beta, delta, eta, rho, gamma, colonySize, tau, graph);
+
+		// Select the ant structure
+		IAntFactory ant = new Ant(nestNode, graph, null, null); 
+
+		// Select the evaporation of the pheromones: an event per edge, the same evaporations drawn when a level
+		// is read, or a single event sweeping all the edges
+		LazyEvaporationStore lazy = evaporation.equals("lazy") ? new LazyEvaporationStore(graph, store, eta, rho, random.split()) : null;
+		PheromoneStore pheromones = (lazy != null) ? lazy : store;
+
+		// Create the colony structure
+		IColony colony = new Colony(colonySize, nestNode, numNodes, ant, graph, algorithm, pheromones, random.split());
+		
+		 // Select the queue structure      
+		EventQueue pec = createEventQueue(delta, options);     
+		
+		// Select the distribution strategy
+		DistributionStrategy distributionStrategy = new ExponentialDistributionStrategy(delta, random.split());
+		
+		// Initialize the simulator        
+		ColonySimulator simulator = new ColonySimulator(alpha, beta, delta, eta, rho, gamma, tau, colony, pec, distributionStrategy, random.split()); 
+		if (lazy != null) {
+			// The levels evaporate with the time of the simulation, without evaporation events
+			lazy.setClock(simulator::getCurrentTime);
+		}
+		else {
+			if (evaporation.equals("sweep"))
+				simulator.useEvaporationSweep(graph);
+			colony.addObserver(simulator);
+			scheduleLoadedLevels(colony, graph, store);
+		}
+		// Cache the choice information of the edges when the aco.choiceInfo system property is true,
+		// which the Fenwick selection needs. The lazily evaporated levels cannot be cached.
+		if (lazy == null && options.usesChoiceInfo())
+			colony.useChoiceInfo(alpha, beta);
+		// Run the simulation
+		simulator.simulate();
+
+		// Keep the levels of a pheromone file
+		if (store instanceof OffHeapPheromoneStore) {
+			if (lazy != null)
+				lazy.settle();
+			((OffHeapPheromoneStore) store).flush();
+		}
+	}
+
     /**
      * Reads the command-line arguments and determines the command to be executed.
      *
      * @param args the command-line arguments
-     * @return the command code (-1 for invalid command, 0 for -r command, 1 for -f command)
+     * @return the command code (-1 for invalid command, 0 for -r command, 1 for -f command,
+     *         2 for -b command, 3 for -c command, 4 for -t command)
      */
 	private static int readCommand(String[] args) {	
 		if (args.length == 0) {
@@ -216,6 +472,30 @@ public class Main {
 			else 
 				return 1;
 		}
+		else if (args[0].equals("-b")) {
+			if(args.length != 2) {
+				System.out.println("Invalid command structure for -b. Please provide the necessary parameters.");
+				return -1;
+			}
+			else 
+				return 2;
+		}
+		else if (args[0].equals("-c")) {
+			if(args.length != 3) {
+				System.out.println("Invalid command structure for -c. Please provide the necessary parameters.");
+				return -1;
+			}
+			else 
+				return 3;
+		}
+		else if (args[0].equals("-t")) {
+			if(args.length != 11) {
+				System.out.println("Invalid command structure for -t. Please provide the necessary parameters.");
+				return -1;
+			}
+			else 
+				return 4;
+		}
 		else { 
 			System.out.println("Unrecognized command. Please provide a valid command to run the program.");
 			return -1;
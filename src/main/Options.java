@@ -0,0 +1,226 @@
+package main;
+
+import java.lang.IllegalArgumentException;
+import java.lang.NumberFormatException;
+import java.util.SplittableRandom;
+
+/**
+ * The {@code Options} class holds the optional settings of a run, given as {@code aco.*} system properties
+ * (see the README). Every property is read and validated once, when the options are constructed, so that an
+ * unknown value or an invalid combination is reported before the run prints anything.
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class Options {
+
+	private long seed;
+	private int numCandidates;
+	private String selection;
+	private int minDegree;
+	private boolean choiceInfo;
+	private String evaporation;
+	private String pheromones;
+	private boolean singlePrecision;
+	private String pheromoneFile;
+	private String queue;
+	private int distanceCache;
+
+	/**
+	 * Constructs the options of a run from the system properties.
+	 *
+	 * @throws IllegalArgumentException if a property has an invalid value, or two properties cannot be combined
+	 */
+	public Options() {
+		this.seed = readLong("aco.seed", new SplittableRandom().nextLong());
+		this.numCandidates = readInt("aco.candidates", 0);
+		this.selection = readChoice("aco.selection", "linear", "linear", "fenwick");
+		this.minDegree = readInt("aco.selection.minDegree", 64);
+		this.choiceInfo = Boolean.getBoolean("aco.choiceInfo");
+		this.evaporation = readChoice("aco.evaporation", "events", "events", "lazy", "sweep");
+		this.pheromoneFile = System.getProperty("aco.pheromones.file");
+		this.pheromones = readChoice("aco.pheromones", null, "matrix", "edge", "triangular", "offheap", "sparse");
+		this.singlePrecision = Boolean.getBoolean("aco.pheromones.float");
+		this.queue = readChoice("aco.queue", "pec", "pec", "heap", "calendar");
+		this.distanceCache = readInt("aco.distanceCache", 0);
+
+		// The Fenwick trees follow the cached choice information, which lazily evaporated levels cannot have
+		if (isFenwickSelection() && evaporation.equals("lazy"))
+			throw new IllegalArgumentException("aco.selection=fenwick cannot be combined with aco.evaporation=lazy");
+	}
+
+	/**
+	 * Gets the seed the random streams of the run are split from, random when {@code aco.seed} is not set.
+	 *
+	 * @return the seed of the run
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Gets the size of the candidate lists of the ants.
+	 *
+	 * @return the number of candidates, or a number that is not positive if the ants have no candidate lists
+	 */
+	public int getNumCandidates() {
+		return numCandidates;
+	}
+
+	/**
+	 * Checks whether the ants draw their next node with Fenwick trees.
+	 *
+	 * @return true if {@code aco.selection} is {@code fenwick}, false otherwise
+	 */
+	public boolean isFenwickSelection() {
+		return selection.equals("fenwick");
+	}
+
+	/**
+	 * Gets the minimum degree of the nodes drawn with a Fenwick tree.
+	 *
+	 * @return the minimum degree
+	 */
+	public int getMinDegree() {
+		return minDegree;
+	}
+
+	/**
+	 * Checks whether the colony caches the choice information of the edges, which the Fenwick selection needs.
+	 *
+	 * @return true if the choice information is cached, false otherwise
+	 */
+	public boolean usesChoiceInfo() {
+		return choiceInfo || isFenwickSelection();
+	}
+
+	/**
+	 * Gets the evaporation of the pheromones.
+	 *
+	 * @return {@code events}, {@code lazy} or {@code sweep}
+	 */
+	public String getEvaporation() {
+		return evaporation;
+	}
+
+	/**
+	 * Gets the pheromone store. Without {@code aco.pheromones}, it is {@code offheap} when a pheromone file is
+	 * given, else {@code matrix}, or {@code sparse} on graphs whose adjacency cannot be indexed.
+	 *
+	 * @param indexed whether the adjacency of the graph can be indexed
+	 * @return the name of the pheromone store
+	 */
+	public String getPheromoneStore(boolean indexed) {
+		if (pheromones != null)
+			return pheromones;
+		return (pheromoneFile != null) ? "offheap" : indexed ? "matrix" : "sparse";
+	}
+
+	/**
+	 * Checks whether the triangular pheromone store keeps its levels in single precision.
+	 *
+	 * @return true if {@code aco.pheromones.float} is true, false otherwise
+	 */
+	public boolean isSinglePrecision() {
+		return singlePrecision;
+	}
+
+	/**
+	 * Gets the file the off-heap pheromone store is mapped to.
+	 *
+	 * @return the path of the pheromone file, or {@code null} if the store is not mapped to a file
+	 */
+	public String getPheromoneFile() {
+		return pheromoneFile;
+	}
+
+	/**
+	 * Gets the pending event queue.
+	 *
+	 * @return {@code pec}, {@code heap} or {@code calendar}
+	 */
+	public String getQueue() {
+		return queue;
+	}
+
+	/**
+	 * Gets the size of the distance cache of TSPLIB instances.
+	 *
+	 * @return the number of entries of the cache
+	 */
+	public int getDistanceCache() {
+		return distanceCache;
+	}
+
+	/**
+	 * Checks whether the options keep a slot per edge and direction, which needs the adjacency of the graph
+	 * to be indexed.
+	 *
+	 * @return true if the options need an indexed adjacency, false otherwise
+	 */
+	public boolean needsIndexedAdjacency() {
+		return usesChoiceInfo() || !evaporation.equals("events");
+	}
+
+	/**
+	 * Reads a property that takes one of a set of values.
+	 *
+	 * @param name         the name of the property
+	 * @param defaultValue the value when the property is not set
+	 * @param values       the valid values
+	 * @return the value of the property
+	 * @throws IllegalArgumentException if the value is not one of the valid values
+	 */
+	private static String readChoice(String name, String defaultValue, String... values) {
+		String value = System.getProperty(name);
+		if (value == null)
+			return defaultValue;
+		for (String valid : values) {
+			if (valid.equals(value))
+				return value;
+		}
+		throw new IllegalArgumentException("Unknown value " + value + " of " + name + ", expected one of " + String.join(", ", values));
+	}
+
+	/**
+	 * Reads a property that takes an integer.
+	 *
+	 * @param name         the name of the property
+	 * @param defaultValue the value when the property is not set
+	 * @return the value of the property
+	 * @throws IllegalArgumentException if the value is not an integer
+	 */
+	private static int readInt(String name, int defaultValue) {
+		String value = System.getProperty(name);
+		if (value == null)
+			return defaultValue;
+		try {
+			return Integer.parseInt(value.trim());
+		}
+		catch (NumberFormatException e) {
+			throw new IllegalArgumentException("The value " + value + " of " + name + " is not an integer");
+		}
+	}
+
+	/**
+	 * Reads a property that takes a long integer.
+	 *
+	 * @param name         the name of the property
+	 * @param defaultValue the value when the property is not set
+	 * @return the value of the property
+	 * @throws IllegalArgumentException if the value is not an integer
+	 */
+	private static long readLong(String name, long defaultValue) {
+		String value = System.getProperty(name);
+		if (value == null)
+			return defaultValue;
+		try {
+			return Long.parseLong(value.trim());
+		}
+		catch (NumberFormatException e) {
+			throw new IllegalArgumentException("The value " + value + " of " + name + " is not an integer");
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package ao;
+
+import graph.CandidateLists;
+import graph.IWeightedGraph;
+import graph.RandomGraphGenerator;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+/**
+ * Checks that the moves of an ant do not allocate.
+ *
+ * The ants of a colony walk a random graph, with and without candidate lists and cached choice information,
+ * and the bytes allocated by the thread are measured around every move with
+ * {@code com.sun.management.ThreadMXBean.getThreadAllocatedBytes}. Only the moves that do not complete a
+ * Hamiltonian cycle are checked, since completing one copies the cycle. The moves, and the call to the bean,
+ * are first run until the JIT compiles them, so that the check measures the compiled code. The check exits with
+ * status 1 when a move allocates.
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class MoveAllocationCheck {
+
+	private static final int WARMUP_MOVES = 2_000_000;
+	private static final int CHECKED_MOVES = 200_000;
+
+	/**
+	 * Default constructor for the MoveAllocationCheck class.
+	 */
+	public MoveAllocationCheck() {
+		// No initialization logic required for the default constructor
+	}
+
+	/**
+	 * Runs the check.
+	 *
+	 * @param args not used
+	 */
+	public static void main(String[] args) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		IWeightedGraph graph = new RandomGraphGenerator(1).generate(200, 10);
+
+		// The bean allocates until its own call is compiled
+		for (int i = 0; i < WARMUP_MOVES; i++)
+			threads.getThreadAllocatedBytes(thread);
+
+		boolean failed = false;
+		failed |= check("linear", new AntColonyOptimization(), graph, false, threads, thread);
+		failed |= check("candidates", new AntColonyOptimization(new CandidateLists(graph, 8)), graph, false, threads, thread);
+		failed |= check("choice info", new AntColonyOptimization(), graph, true, threads, thread);
+		failed |= check("fenwick", new AntColonyOptimization(null, new FenwickSelection(graph, 16)), graph, true, threads, thread);
+		if (failed)
+			System.exit(1);
+	}
+
+	/**
+	 * Moves the ants of a colony and reports the bytes allocated by the moves that do not complete a cycle.
+	 *
+	 * @param name       the name of the configuration
+	 * @param algorithm  the optimization algorithm of the ants
+	 * @param graph      the graph the ants walk
+	 * @param choiceInfo whether the colony caches the choice information
+	 * @param threads    the thread management bean
+	 * @param thread     the identifier of the current thread
+	 * @return true if a move allocated, false otherwise
+	 */
+	private static boolean check(String name, AntColonyOptimization algorithm, IWeightedGraph graph, boolean choiceInfo,
+			com.sun.management.ThreadMXBean threads, long thread) {
+		double alpha = 1.0, beta = 1.0, delta = 0.2, gamma = 0.5;
+		Colony colony = new Colony(10, 1, graph.getNumNodes(), new Ant(1, graph, null, null), graph, algorithm,
+				new EdgePheromoneStore(graph), new SplittableRandom(1));
+		if (choiceInfo)
+			colony.useChoiceInfo(alpha, beta);
+
+		for (int i = 0; i < WARMUP_MOVES; i++)
+			colony.getAnts().get(i % colony.getNumAnts()).move(gamma, alpha, beta, delta);
+
+		long allocated = 0;
+		long moves = 0;
+		for (int i = 0; i < CHECKED_MOVES; i++) {
+			IAnt ant = colony.getAnts().get(i % colony.getNumAnts());
+			long before = threads.getThreadAllocatedBytes(thread);
+			ant.move(gamma, alpha, beta, delta);
+			long after = threads.getThreadAllocatedBytes(thread);
+			// A completed cycle restarts the path at the nest node
+			if (ant.getPathLength() > 1) {
+				allocated += after - before;
+				moves++;
+			}
+		}
+		System.out.printf("%-12s %d bytes over %d moves%n", name, allocated, moves);
+		return allocated != 0;
+	}
+}
@@ -0,0 +1,168 @@
+package ao;
+
+import distribution.ExponentialDistributionStrategy;
+import dss.ColonySimulator;
+import eventqueue.PEC;
+import graph.IWeightedGraph;
+import graph.RandomGraphGenerator;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+
+/**
+ * Checks the weight of the path accumulated by the ants against a full recomputation of the path.
+ *
+ * An ant first walks a small seeded graph, adding adjacent nodes to its path, backtracking to random nodes of its
+ * path and closing cycles at the nest node, and the weight of every prefix of its path is compared after every
+ * step. A seeded simulation then runs with the {@code aco.checkPathWeight} system property on, so that every cycle
+ * found by the ants is checked before its pheromones are deposited. The check exits with status 1 on a mismatch.
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class PathWeightCheck {
+
+	private static final int STEPS = 100_000;
+
+	/**
+	 * Default constructor for the PathWeightCheck class.
+	 */
+	public PathWeightCheck() {
+		// No initialization logic required for the default constructor
+	}
+
+	/**
+	 * Runs the check.
+	 *
+	 * @param args not used
+	 */
+	public static void main(String[] args) {
+		// Read by the ants when their class is loaded
+		System.setProperty("aco.checkPathWeight", "true");
+
+		boolean failed = false;
+		try {
+			failed |= !checkWalk();
+			failed |= !checkSimulation();
+		}
+		catch (IllegalStateException e) {
+			System.out.println("simulation   " + e.getMessage());
+			failed = true;
+		}
+		if (failed)
+			System.exit(1);
+	}
+
+	/**
+	 * Walks an ant over a small seeded graph and compares the weight of its path after every step.
+	 *
+	 * @return true if every weight matches, false otherwise
+	 */
+	private static boolean checkWalk() {
+		IWeightedGraph graph = new RandomGraphGenerator(7).generate(12, 20);
+		SplittableRandom random = new SplittableRandom(7);
+		int nest = 1;
+		Ant ant = new Ant(nest, graph, null, null, random.split());
+
+		int numBacktracks = 0;
+		int numCycles = 0;
+		for (int step = 0; step < STEPS; step++) {
+			int node = ant.getCurrentNode();
+			int degree = graph.getDegree(node);
+			int next = -1;
+			int start = random.nextInt(degree);
+			for (int i = 0; i < degree && next < 0; i++) {
+				int index = (start + i) % degree;
+				if (!ant.isVisited(graph.getAdjacentNode(node, index)))
+					next = index;
+			}
+
+			if (next >= 0) {
+				// Alternate the weights given by the caller and looked up by the ant
+				int adjacentNode = graph.getAdjacentNode(node, next);
+				if (random.nextBoolean())
+					ant.addToPath(adjacentNode, graph.getAdjacentWeight(node, next));
+				else
+					ant.addToPath(adjacentNode);
+				ant.setCurrentNode(adjacentNode);
+				ant.markVisited(adjacentNode);
+			}
+			else if (ant.getNumUnvisited() == 0 && graph.getWeight(node, nest) != 0) {
+				// Close the cycle, then start a new one at the nest node
+				ant.addToPath(nest, graph.getWeight(node, nest));
+				if (!matches(ant, graph))
+					return false;
+				ant.setCurrentNode(nest);
+				ant.resetVisited(nest);
+				ant.truncatePath(0);
+				ant.addToPath(nest, 0);
+				numCycles++;
+			}
+			else {
+				int target = ant.getPathNode(random.nextInt(ant.getPathLength()));
+				ant.backtrackTo(target);
+				ant.setCurrentNode(target);
+				numBacktracks++;
+			}
+			if (!matches(ant, graph))
+				return false;
+		}
+		System.out.printf("walk         %d steps, %d backtracks, %d cycles%n", STEPS, numBacktracks, numCycles);
+		return numBacktracks > 0 && numCycles > 0;
+	}
+
+	/**
+	 * Compares the weight of every prefix of the path of an ant with the sum of the weights of its edges.
+	 *
+	 * @param ant   the ant
+	 * @param graph the graph the ant walks
+	 * @return true if every weight matches, false otherwise
+	 */
+	private static boolean matches(Ant ant, IWeightedGraph graph) {
+		long weight = 0;
+		for (int length = 1; length <= ant.getPathLength(); length++) {
+			if (length > 1)
+				weight += graph.getWeight(ant.getPathNode(length - 2), ant.getPathNode(length - 1));
+			if (ant.getPathWeight(length) != weight) {
+				System.out.println("walk         accumulated weight " + ant.getPathWeight(length) + " of the first " + length
+						+ " nodes differs from their weight " + weight);
+				return false;
+			}
+		}
+		return ant.getPathWeight() == weight;
+	}
+
+	/**
+	 * Runs a seeded simulation in which every cycle found by the ants checks its weight.
+	 *
+	 * @return true if cycles were found and checked, false otherwise
+	 * @throws IllegalStateException if the weight of a cycle differs from the weight accumulated by its ant
+	 */
+	private static boolean checkSimulation() {
+		SplittableRandom random = new SplittableRandom(11);
+		IWeightedGraph graph = new RandomGraphGenerator(random.nextLong()).generate(15, 10);
+		double alpha = 1.0, beta = 1.0, delta = 0.2, eta = 2.0, rho = 10.0, gamma = 0.5, tau = 300.0;
+
+		Colony colony = new Colony(50, 1, graph.getNumNodes(), new Ant(1, graph, null, null), graph,
+				new AntColonyOptimization(), new MatrixPheromoneStore(graph), random.split());
+		ColonySimulator simulator = new ColonySimulator(alpha, beta, delta, eta, rho, gamma, tau, colony, new PEC(),
+				new ExponentialDistributionStrategy(delta, random.split()), random.split());
+		colony.addObserver(simulator);
+
+		// Leave the observations out of the output of the check
+		PrintStream out = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		try {
+			simulator.simulate();
+		}
+		finally {
+			System.setOut(out);
+		}
+		int numCycles = colony.getHamiltonianCycles().size();
+		System.out.printf("simulation   %d cycles checked%n", numCycles);
+		return numCycles > 0;
+	}
+}
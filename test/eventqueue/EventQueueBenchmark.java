@@ -0,0 +1,115 @@
+package eventqueue;
+
+import java.util.SplittableRandom;
+
+/**
+ * Compares the event queues with the hold model: the queue is filled to a given depth, and every operation then
+ * removes the next event and adds it back later, so that the depth stays the same.
+ *
+ * The queues hold the events of a simulation: a move event per ant, rescheduled after an exponential time with
+ * the mean of a move, and an evaporation event per edge with pheromones, rescheduled after an exponential time
+ * with mean eta. The depths go from a small random graph to a large TSPLIB instance, where the pheromones of
+ * many cycles evaporate at once. Every queue runs a few rounds first so that the JIT compiles it, then the
+ * average time of an operation is printed.
+ *
+ * @author Diogo Miranda
+ * @author João Santos
+ * @author Tomás Maia
+ * @version 1.0
+ */
+public class EventQueueBenchmark {
+
+	private static final int OPERATIONS = 2_000_000;
+	private static final int ROUNDS = 3;
+
+	// Ants, edges with pheromones, mean time of a move and mean time of an evaporation
+	private static final double[][] SCENARIOS = {
+		{ 50, 400, 1.0, 2.0 },
+		{ 200, 20_000, 5.0, 2.0 },
+		{ 1_000, 500_000, 50.0, 2.0 },
+	};
+
+	/**
+	 * An event that only carries its timestamp and whether it is the move of an ant.
+	 */
+	private static class HoldEvent extends Event {
+		private final boolean move;
+
+		HoldEvent(double timestamp, boolean move) {
+			super(timestamp);
+			this.move = move;
+		}
+
+		@Override
+		public void simulateEvent() {
+			// The benchmark only moves the events through the queue
+		}
+	}
+
+	/**
+	 * Default constructor for the EventQueueBenchmark class.
+	 */
+	public EventQueueBenchmark() {
+		// No initialization logic required for the default constructor
+	}
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args not used
+	 */
+	public static void main(String[] args) {
+		for (double[] scenario : SCENARIOS) {
+			int numAnts = (int) scenario[0];
+			int numEdges = (int) scenario[1];
+			double moveMean = scenario[2];
+			double evaporationMean = scenario[3];
+
+			double pec = 0, heap = 0, calendar = 0;
+			for (int round = 0; round < ROUNDS; round++) {
+				pec = hold(new PEC(), numAnts, numEdges, moveMean, evaporationMean);
+				heap = hold(new HeapEventQueue(), numAnts, numEdges, moveMean, evaporationMean);
+				calendar = hold(new CalendarQueue(moveMean), numAnts, numEdges, moveMean, evaporationMean);
+			}
+			System.out.printf("%d ants, %d edges: PEC %.1f ns/op, heap %.1f ns/op, calendar %.1f ns/op%n",
+					numAnts, numEdges, pec, heap, calendar);
+		}
+	}
+
+	/**
+	 * Fills a queue with the events of the ants and of the edges, then measures the hold operations.
+	 *
+	 * @param queue           the empty event queue
+	 * @param numAnts         the number of move events
+	 * @param numEdges        the number of evaporation events
+	 * @param moveMean        the mean time between the moves of an ant
+	 * @param evaporationMean the mean time between the evaporations of an edge
+	 * @return the average time of an operation, in nanoseconds
+	 */
+	private static double hold(EventQueue queue, int numAnts, int numEdges, double moveMean, double evaporationMean) {
+		SplittableRandom random = new SplittableRandom(1);
+		for (int i = 0; i < numAnts; i++)
+			queue.addEvent(new HoldEvent(exponential(random, moveMean), true));
+		for (int i = 0; i < numEdges; i++)
+			queue.addEvent(new HoldEvent(exponential(random, evaporationMean), false));
+
+		long start = System.nanoTime();
+		for (int i = 0; i < OPERATIONS; i++) {
+			HoldEvent event = (HoldEvent) queue.getNextEvent();
+			event.increaseTimeStamp(exponential(random, event.move ? moveMean : evaporationMean));
+			queue.addEvent(event);
+		}
+		return (System.nanoTime() - start) / (double) OPERATIONS;
+	}
+
+	/**
+	 * Draws an exponential time.
+	 *
+	 * @param random the random generator
+	 * @param mean   the mean of the time
+	 * @return the time
+	 */
+	private static double exponential(SplittableRandom random, double mean) {
+		return -mean * Math.log(1 - random.nextDouble());
+	}
+}